@@ -0,0 +1,126 @@
+package io.qala.datagen;
+
+import java.nio.charset.Charset;
+
+/**
+ * How many bytes the code points take in the charsets that Datagen can generate strings of exact byte length for.
+ * UTF-8, ISO-8859-1 and US-ASCII are simple enough to encode generated chars right into byte arrays without
+ * {@link java.nio.charset.CharsetEncoder}, each char that such charset can't represent is replaced with {@code '?'}.
+ */
+enum ByteEncoding {
+    UTF_8(new int[]{0x80, 0x800, 0x10000, 0x110000}, new int[]{1, 2, 3, 4}, 0) {
+        @Override int encode(char[] chars, int from, int to, byte[] destination, int offset) {
+            int b = offset;
+            for (int i = from; i < to; i++) {
+                char c = chars[i];
+                if (c < 0x80) {
+                    destination[b++] = (byte) c;
+                } else if (c < 0x800) {
+                    b = writeTwoBytes(c, destination, b);
+                } else if (c < Character.MIN_SURROGATE || c > Character.MAX_SURROGATE) {
+                    b = writeThreeBytes(c, destination, b);
+                } else if (Character.isHighSurrogate(c) && i + 1 < to && Character.isLowSurrogate(chars[i + 1])) {
+                    b = writeFourBytes(Character.toCodePoint(c, chars[++i]), destination, b);
+                } else {
+                    destination[b++] = '?';
+                }
+            }
+            return b - offset;
+        }
+    },
+    UTF_16(new int[]{0x10000, 0x110000}, new int[]{2, 4}, 2),
+    UTF_16BE(new int[]{0x10000, 0x110000}, new int[]{2, 4}, 0),
+    UTF_16LE(new int[]{0x10000, 0x110000}, new int[]{2, 4}, 0),
+    /** Also UTF-32BE and UTF-32LE, the JDK doesn't write the BOM for any of them. */
+    UTF_32(new int[]{0x110000}, new int[]{4}, 0),
+    ISO_8859_1(new int[]{0x100}, new int[]{1}, 0) {
+        @Override int encode(char[] chars, int from, int to, byte[] destination, int offset) {
+            return encodeSingleByte(chars, from, to, destination, offset, 0x100);
+        }
+    },
+    US_ASCII(new int[]{0x80}, new int[]{1}, 0) {
+        @Override int encode(char[] chars, int from, int to, byte[] destination, int offset) {
+            return encodeSingleByte(chars, from, to, destination, offset, 0x80);
+        }
+    };
+
+    /** Exclusive upper boundaries of the code points that take the corresponding number of bytes. */
+    final int[] limits;
+    final int[] widths;
+    /** Byte Order Mark that the JDK encoder writes in the beginning of non-empty strings. */
+    final int bom;
+    /** A supplementary code point takes 4 bytes in UTF-8, but it's also 2 chars. */
+    private final int maxBytesPerChar;
+
+    ByteEncoding(int[] limits, int[] widths, int bom) {
+        this.limits = limits;
+        this.widths = widths;
+        this.bom = bom;
+        int max = 0;
+        for (int w = 0; w < widths.length; w++)
+            max = Math.max(max, lowestCodePoint(w) < 0x10000 ? widths[w] : (widths[w] + 1) / 2);
+        this.maxBytesPerChar = max;
+    }
+
+    /**
+     * @return number of bytes written
+     * @throws UnsupportedOperationException if the charset isn't one of {@link #writable(Charset)}
+     */
+    int encode(char[] chars, int from, int to, byte[] destination, int offset) {
+        throw new UnsupportedOperationException("Bug in Datagen: chars can't be encoded into " + this + " directly");
+    }
+
+    /** @return the size of the array that surely fits the specified number of chars */
+    int maxBytes(int nOfChars) {
+        return nOfChars * maxBytesPerChar;
+    }
+    int lowestCodePoint(int width) {
+        return width == 0 ? 0 : limits[width - 1];
+    }
+
+    static ByteEncoding of(Charset charset) {
+        String name = charset.name();
+        if (name.equals("UTF-8")) return UTF_8;
+        if (name.equals("UTF-16")) return UTF_16;
+        if (name.equals("UTF-16BE")) return UTF_16BE;
+        if (name.equals("UTF-16LE")) return UTF_16LE;
+        if (name.startsWith("UTF-32")) return UTF_32;
+        if (name.equals("ISO-8859-1")) return ISO_8859_1;
+        if (name.equals("US-ASCII")) return US_ASCII;
+        throw new IllegalArgumentException("Charset [" + name + "] isn't supported, use one of UTF-8, UTF-16, " +
+                "UTF-16BE, UTF-16LE, UTF-32, UTF-32BE, UTF-32LE, ISO-8859-1, US-ASCII");
+    }
+    /** @return encoding that can {@link #encode} chars, the rest of the charsets are only used to measure strings */
+    static ByteEncoding writable(Charset charset) {
+        ByteEncoding encoding = of(charset);
+        if (encoding != UTF_8 && encoding != ISO_8859_1 && encoding != US_ASCII) throw new IllegalArgumentException(
+                "Charset [" + charset.name() + "] isn't supported, use one of UTF-8, ISO-8859-1, US-ASCII");
+        return encoding;
+    }
+
+    static int writeTwoBytes(int codePoint, byte[] destination, int offset) {
+        destination[offset] = (byte) (0xC0 | codePoint >> 6);
+        destination[offset + 1] = (byte) (0x80 | codePoint & 0x3F);
+        return offset + 2;
+    }
+    static int writeThreeBytes(int codePoint, byte[] destination, int offset) {
+        destination[offset] = (byte) (0xE0 | codePoint >> 12);
+        destination[offset + 1] = (byte) (0x80 | codePoint >> 6 & 0x3F);
+        destination[offset + 2] = (byte) (0x80 | codePoint & 0x3F);
+        return offset + 3;
+    }
+    static int writeFourBytes(int codePoint, byte[] destination, int offset) {
+        destination[offset] = (byte) (0xF0 | codePoint >> 18);
+        destination[offset + 1] = (byte) (0x80 | codePoint >> 12 & 0x3F);
+        destination[offset + 2] = (byte) (0x80 | codePoint >> 6 & 0x3F);
+        destination[offset + 3] = (byte) (0x80 | codePoint & 0x3F);
+        return offset + 4;
+    }
+    private static int encodeSingleByte(char[] chars, int from, int to, byte[] destination, int offset, int limit) {
+        for (int i = from; i < to; i++) {
+            char c = chars[i];
+            destination[offset + i - from] = c < limit ? (byte) c : (byte) '?';
+        }
+        return to - from;
+    }
+}
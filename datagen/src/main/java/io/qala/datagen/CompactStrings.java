@@ -0,0 +1,199 @@
+package io.qala.datagen;
+
+import java.util.AbstractList;
+import java.util.Collection;
+import java.util.RandomAccess;
+
+/**
+ * <p>Read-only list of strings that keeps all the chars in one array and the boundaries of the strings in another,
+ * instead of having an object with a header and an array per string. If all the chars fit into Latin-1 (which is the
+ * case for alphanumerics, numerics, english, etc), each char takes a single byte. So large fixtures take several
+ * times less memory and iterating over them reads the memory sequentially:</p>
+ * <pre>
+ * CompactStrings usernames = between(1, 20).compile(ALPHANUMERIC).compactList(10000000);
+ * </pre>
+ * <p>{@link #get(int)} creates a new {@code String} on every call, use {@link #charSequence(int)} to read the chars
+ * without copying them. Instances are immutable and can be shared between threads.</p>
+ */
+@SuppressWarnings("WeakerAccess")
+public final class CompactStrings extends AbstractList<String> implements RandomAccess {
+    /** Either of the arenas is null. */
+    private final byte[] latin1;
+    private final char[] chars;
+    /** String {@code i} takes {@code [offsets[i], offsets[i + 1])} of the arena. */
+    private final int[] offsets;
+    private final int size;
+
+    private CompactStrings(byte[] latin1, char[] chars, int[] offsets, int size) {
+        this.latin1 = latin1;
+        this.chars = chars;
+        this.offsets = offsets;
+        this.size = size;
+    }
+
+    /** @return compact copy of the strings, e.g. of a sample */
+    public static CompactStrings copyOf(Collection<? extends CharSequence> strings) {
+        Builder builder = new Builder(strings.size(), (int) Math.min(16L * strings.size(), 1 << 24));
+        for (CharSequence string : strings) builder.add(string);
+        return builder.build();
+    }
+
+    /** @return new String with the chars of the element */
+    @Override public String get(int index) {
+        throwIfOutOfBounds(index);
+        int from = offsets[index], count = offsets[index + 1] - from;
+        return latin1 != null ? latin1String(latin1, from, count) : new String(chars, from, count);
+    }
+    /** @return view of the element's chars, nothing is copied until {@code toString()} is called */
+    public CharSequence charSequence(int index) {
+        throwIfOutOfBounds(index);
+        return new View(offsets[index], offsets[index + 1]);
+    }
+    /** @return length of the element without creating a String */
+    public int length(int index) {
+        throwIfOutOfBounds(index);
+        return offsets[index + 1] - offsets[index];
+    }
+    @Override public int size() {
+        return size;
+    }
+    /** @return {@code true} if each char takes a single byte */
+    public boolean isLatin1() {
+        return latin1 != null;
+    }
+
+    private char charAt(int arenaIndex) {
+        return latin1 != null ? (char) (latin1[arenaIndex] & 0xFF) : chars[arenaIndex];
+    }
+    private void throwIfOutOfBounds(int index) {
+        if (index < 0 || index >= size) throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+    }
+    /** The deprecated constructor is the only one that creates Latin-1 strings without decoding them via Charset. */
+    @SuppressWarnings("deprecation")
+    private static String latin1String(byte[] bytes, int from, int count) {
+        return new String(bytes, 0, from, count);
+    }
+
+    private class View implements CharSequence {
+        private final int from, to;
+
+        View(int from, int to) {
+            this.from = from;
+            this.to = to;
+        }
+        @Override public int length() {
+            return to - from;
+        }
+        @Override public char charAt(int index) {
+            if (index < 0 || index >= length())
+                throw new IndexOutOfBoundsException("Index: " + index + ", Length: " + length());
+            return CompactStrings.this.charAt(from + index);
+        }
+        @Override public CharSequence subSequence(int start, int end) {
+            if (start < 0 || end > length() || start > end) throw new IndexOutOfBoundsException(
+                    "Start: " + start + ", End: " + end + ", Length: " + length());
+            return new View(from + start, from + end);
+        }
+        @Override public String toString() {
+            return latin1 != null ? latin1String(latin1, from, length()) : new String(chars, from, length());
+        }
+    }
+
+    /**
+     * Appends strings to the arena, the arrays grow twice when they are full. Starts with Latin-1 and switches to
+     * chars if it meets a char that doesn't fit into a byte.
+     */
+    public static final class Builder {
+        private static final int MAX_ARRAY_SIZE = Integer.MAX_VALUE - 8;
+        private byte[] latin1;
+        private char[] chars;
+        private int[] offsets;
+        private int size, length;
+
+        /**
+         * @param expectedStrings number of strings to allocate the index for
+         * @param expectedChars   total number of chars to allocate the arena for
+         */
+        public Builder(int expectedStrings, int expectedChars) {
+            this.latin1 = new byte[Math.max(expectedChars, 16)];
+            this.offsets = new int[Math.max(expectedStrings, 1) + 1];
+        }
+
+        public Builder add(CharSequence string) {
+            int n = string.length();
+            ensureCharCapacity(n);
+            for (int i = 0; i < n; i++) put(string.charAt(i));
+            return endString();
+        }
+        public Builder add(char[] source, int from, int to) {
+            ensureCharCapacity(to - from);
+            if (chars != null) {
+                System.arraycopy(source, from, chars, length, to - from);
+                length += to - from;
+            } else {
+                for (int i = from; i < to; i++) put(source[i]);
+            }
+            return endString();
+        }
+        public CompactStrings build() {
+            return latin1 != null
+                    ? new CompactStrings(trim(latin1, length), null, trim(offsets, size + 1), size)
+                    : new CompactStrings(null, trim(chars, length), trim(offsets, size + 1), size);
+        }
+
+        private void put(char c) {
+            if (latin1 != null && c > 0xFF) inflate();
+            if (latin1 != null) latin1[length++] = (byte) c;
+            else chars[length++] = c;
+        }
+        private Builder endString() {
+            if (size + 2 > offsets.length) {
+                int[] grown = new int[(int) Math.min(2L * offsets.length, MAX_ARRAY_SIZE)];
+                System.arraycopy(offsets, 0, grown, 0, size + 1);
+                offsets = grown;
+            }
+            offsets[++size] = length;
+            return this;
+        }
+        private void inflate() {
+            chars = new char[latin1.length];
+            for (int i = 0; i < length; i++) chars[i] = (char) (latin1[i] & 0xFF);
+            latin1 = null;
+        }
+        private void ensureCharCapacity(int toAdd) {
+            int capacity = latin1 != null ? latin1.length : chars.length;
+            long required = (long) length + toAdd;
+            if (required <= capacity) return;
+            if (required > MAX_ARRAY_SIZE) throw new IllegalStateException(
+                    "Can't put more than " + MAX_ARRAY_SIZE + " chars into the arena, requested: " + required);
+            int newCapacity = (int) Math.min(Math.max(2L * capacity, required), MAX_ARRAY_SIZE);
+            if (latin1 != null) {
+                byte[] grown = new byte[newCapacity];
+                System.arraycopy(latin1, 0, grown, 0, length);
+                latin1 = grown;
+            } else {
+                char[] grown = new char[newCapacity];
+                System.arraycopy(chars, 0, grown, 0, length);
+                chars = grown;
+            }
+        }
+        private static byte[] trim(byte[] array, int length) {
+            if (array.length == length) return array;
+            byte[] trimmed = new byte[length];
+            System.arraycopy(array, 0, trimmed, 0, length);
+            return trimmed;
+        }
+        private static char[] trim(char[] array, int length) {
+            if (array.length == length) return array;
+            char[] trimmed = new char[length];
+            System.arraycopy(array, 0, trimmed, 0, length);
+            return trimmed;
+        }
+        private static int[] trim(int[] array, int length) {
+            if (array.length == length) return array;
+            int[] trimmed = new int[length];
+            System.arraycopy(array, 0, trimmed, 0, length);
+            return trimmed;
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package io.qala.datagen;
+
+import io.qala.datagen.adaptors.DatagenRandom;
+import io.qala.datagen.adaptors.RandomEngine;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static io.qala.datagen.RandomValue.RANDOM;
+
+/**
+ * <p>Logical dataset whose elements can be generated in any order, each of them in O(1): to get the element with
+ * index 50 000 000 there is no need to generate the ones before it. The element is generated by any Datagen calls
+ * (strings, numbers, samples, etc), but these calls get the values seeded by the dataset's seed and the index:</p>
+ * <pre>
+ * static final Dataset&lt;Person&gt; PEOPLE = Dataset.of(12345L, new Dataset.Element&lt;Person&gt;() {
+ *     public Person generate(long index) { return new Person(alphanumeric(1, 20), integer(18, 100)); }
+ * });
+ * ...
+ * Person person = PEOPLE.get(50000000);
+ * </pre>
+ * <p>This makes it possible to re-create a single row of a large dataset, to split the generation between threads or
+ * JVMs - and to get exactly the same values as if the whole dataset was generated at once. The same seed gives the
+ * same elements also on other machines as long as the engine and the generating code are the same.</p>
+ * <p>Generating an element doesn't affect the values that the current thread generates outside of the dataset.
+ * Instances are immutable and can be used by multiple threads simultaneously.</p>
+ *
+ * @see DatagenRandom#elementSeed(long, long)
+ */
+@SuppressWarnings({"Convert2Diamond", "WeakerAccess"})
+public final class Dataset<T> {
+    private final long seed;
+    private final RandomEngine engine;
+    private final Element<T> element;
+
+    /** Generates an element of the dataset, the randomness comes from Datagen seeded for this exact element. */
+    public interface Element<T> {
+        T generate(long index);
+    }
+
+    private Dataset(long seed, RandomEngine engine, Element<T> element) {
+        if (element == null) throw new IllegalArgumentException("Element generator must be specified");
+        this.seed = seed;
+        this.engine = engine;
+        this.element = element;
+    }
+
+    /** Dataset with a random seed - different every time unless Datagen itself is seeded. */
+    public static <T> Dataset<T> of(Element<T> element) {
+        return of(RANDOM.nextLong(), element);
+    }
+    /** @param seed the same seed gives the same elements, uses the engine of the current thread */
+    public static <T> Dataset<T> of(long seed, Element<T> element) {
+        return of(seed, DatagenRandom.getCurrentEngine(), element);
+    }
+    /** @param engine the algorithm of generating random numbers for this dataset regardless of the current thread */
+    public static <T> Dataset<T> of(long seed, RandomEngine engine, Element<T> element) {
+        return new Dataset<T>(seed, engine, element);
+    }
+
+    /** @return the seed to re-create the same dataset */
+    public long seed() {
+        return seed;
+    }
+    /**
+     * @param index any number, the dataset isn't bounded
+     * @return the element with the index, each time it's the same
+     */
+    public T get(long index) {
+        DatagenRandom.Scope scope = DatagenRandom.enter(DatagenRandom.elementSeed(seed, index), engine);
+        try {
+            return element.generate(index);
+        } finally {
+            scope.close();
+        }
+    }
+    /**
+     * @param fromIndex inclusive
+     * @param toIndex   exclusive
+     * @return the elements with indices from the range, e.g. a shard of the dataset
+     */
+    public List<T> get(long fromIndex, long toIndex) {
+        if (toIndex < fromIndex) throw new IllegalArgumentException(
+                "From index [" + fromIndex + "] cannot be larger than to index [" + toIndex + "]");
+        if (toIndex - fromIndex > Integer.MAX_VALUE) throw new IllegalArgumentException(
+                "Can't put more than " + Integer.MAX_VALUE + " elements into a list: [" + fromIndex + ", " + toIndex + ")");
+        List<T> result = new ArrayList<T>((int) (toIndex - fromIndex));
+        DatagenRandom.Scope scope = DatagenRandom.enter(seed, engine);
+        try {
+            for (long i = fromIndex; i < toIndex; i++) {
+                DatagenRandom.overrideSeed(DatagenRandom.elementSeed(seed, i));
+                result.add(element.generate(i));
+            }
+        } finally {
+            scope.close();
+        }
+        return result;
+    }
+}
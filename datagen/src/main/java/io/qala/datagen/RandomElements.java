@@ -1,37 +1,69 @@
 package io.qala.datagen;
 
+import io.qala.datagen.adaptors.CommonsMath4;
+
 import java.util.*;
 
-import static io.qala.datagen.RandomShortApi.integer;
+import static io.qala.datagen.RandomValue.RANDOM;
 
-@SuppressWarnings({"Convert2Diamond", "WeakerAccess"})
+/**
+ * Samples and shuffles elements of a population. Lists with fast random access and arrays aren't copied, so an
+ * instance can be created for each sampling, or it can be kept and reused. Either way no memory is allocated
+ * per {@link #sample()}.
+ */
+@SuppressWarnings({"Convert2Diamond", "WeakerAccess", "unchecked"})
 public class RandomElements<T> {
+    /** If the sample is smaller than this part of the population, it's cheaper to keep only swapped indices. */
+    private static final int SPARSE_SAMPLE_RATIO = 4;
     private final List<T> elements;
 
-    private RandomElements(T[] elements) {
-        this(Arrays.asList(elements));
-    }
-
+    /**
+     * @param elements the population, lists with fast random access are used as is, other collections are copied
+     */
     private RandomElements(Collection<T> elements) {
-        this.elements = new ArrayList<T>(elements);
+        this.elements = elements instanceof RandomAccess && elements instanceof List
+                ? (List<T>) elements : new ArrayList<T>(elements);
     }
 
     /**
      * In case you have a collection and then couple of other elements you want to sample from too, but you don't want
-     * to create a collection that includes all of them combined.
+     * to create a collection that includes all of them combined. If the collection is a {@link RandomAccess} list,
+     * it's not copied - the elements are sampled from the list and the others as if they were combined.
      *
      * @param elements the collection
      * @param others   other elements you'd like to include into population to sample from
      * @return a random element from all the listed elements/other elements
      */
     @SafeVarargs public static <T> RandomElements<T> from(Collection<T> elements, T... others) {
-        Collection<T> coll = new ArrayList<T>(elements);
+        if (others.length == 0) return new RandomElements<T>(elements);
+        if (elements instanceof RandomAccess && elements instanceof List)
+            return new RandomElements<T>(new Concatenation<T>((List<T>) elements, others));
+        Collection<T> coll = new ArrayList<T>(elements.size() + others.length);
+        coll.addAll(elements);
         coll.addAll(Arrays.asList(others));
         return new RandomElements<T>(coll);
     }
 
+    /**
+     * The array isn't copied, so the changes made to it after this call are visible to the returned instance. Use
+     * {@link #snapshot()} if that's not desired.
+     *
+     * @param elements the population
+     * @return reusable sampler of the elements
+     */
     @SafeVarargs public static <T> RandomElements<T> from(T... elements) {
-        return new RandomElements<T>(elements);
+        return new RandomElements<T>(Arrays.asList(elements));
+    }
+
+    /**
+     * By default {@link RandomAccess} lists and arrays aren't copied - the sampling happens right from them, so it's
+     * cheap to create {@code RandomElements} even for large populations and in loops. But then the changes to the
+     * population are visible. This method copies the current elements, so that the subsequent changes don't matter.
+     *
+     * @return new instance that samples from the copy of current elements
+     */
+    public RandomElements<T> snapshot() {
+        return new RandomElements<T>(new ArrayList<T>(this.elements));
     }
 
     /**
@@ -41,8 +73,7 @@ public class RandomElements<T> {
      */
     public T sample() {
         assertCollectionIsNotEmpty();
-        int index = integer(size() - 1);
-        return this.elements.get(index);
+        return this.elements.get(CommonsMath4.nextIndex(RANDOM, size()));
     }
 
     /**
@@ -59,11 +90,45 @@ public class RandomElements<T> {
         if(nToReturn > this.elements.size())
             throw new IllegalArgumentException("Sample cannot be larger than the initial collection. " +
                     "If you want to allow the sample to contain duplicates, sample with replacement.");
-        List<T> elements = new ArrayList<T>(this.elements);
+        if(nToReturn < 0)
+            throw new IllegalArgumentException("Sample size cannot be negative: " + nToReturn);
+        int[] indices = nToReturn < size() / SPARSE_SAMPLE_RATIO
+                ? sparseSampleIndices(size(), nToReturn) : denseSampleIndices(size(), nToReturn);
         List<T> result = new ArrayList<T>(nToReturn);
-        for(int i = 0; i < nToReturn; i++) {
-            int index = integer(elements.size() - 1);
-            result.add(elements.remove(index));
+        for (int index : indices) result.add(this.elements.get(index));
+        return result;
+    }
+
+    /**
+     * Partial Fisher-Yates shuffle of the indices: on each step a random index from the tail is swapped with the
+     * current one. Only the first {@code k} positions are shuffled, so it's O(k) on top of the index array.
+     */
+    private static int[] denseSampleIndices(int n, int k) {
+        int[] indices = new int[n];
+        for (int i = 0; i < n; i++) indices[i] = i;
+        for (int i = 0; i < k; i++) {
+            int j = i + CommonsMath4.nextIndex(RANDOM, n - i);
+            int swap = indices[i];
+            indices[i] = indices[j];
+            indices[j] = swap;
+        }
+        if (k == n) return indices;
+        int[] result = new int[k];
+        System.arraycopy(indices, 0, result, 0, k);
+        return result;
+    }
+    /**
+     * Same partial Fisher-Yates, but the indices are virtual: only the swapped ones are kept in the map. So it's
+     * O(k) in time and memory regardless of the size of the population.
+     */
+    private static int[] sparseSampleIndices(int n, int k) {
+        Map<Integer, Integer> swapped = new HashMap<Integer, Integer>(k * 2);
+        int[] result = new int[k];
+        for (int i = 0; i < k; i++) {
+            int j = i + CommonsMath4.nextIndex(RANDOM, n - i);
+            Integer atJ = swapped.get(j), atI = swapped.get(i);
+            result[i] = atJ == null ? j : atJ;
+            swapped.put(j, atI == null ? i : atI);
         }
         return result;
     }
@@ -82,8 +147,7 @@ public class RandomElements<T> {
             assertCollectionIsNotEmpty();
         List<T> result = new ArrayList<T>(nToReturn);
         for(int i = 0; i < nToReturn; i++) {
-            int index = integer(size() - 1);
-            result.add(this.elements.get(index));
+            result.add(this.elements.get(CommonsMath4.nextIndex(RANDOM, size())));
         }
         return result;
     }
@@ -95,7 +159,7 @@ public class RandomElements<T> {
      */
     public List<T> shuffled() {
         List<T> result = new ArrayList<T>(this.elements);
-        Collections.shuffle(result);
+        Shuffler.shuffle(result);
         return result;
     }
 
@@ -103,6 +167,24 @@ public class RandomElements<T> {
         return elements.size();
     }
 
+    /** Read-only view of a list followed by an array. */
+    private static class Concatenation<T> extends AbstractList<T> implements RandomAccess {
+        private final List<T> first;
+        private final T[] second;
+
+        Concatenation(List<T> first, T[] second) {
+            this.first = first;
+            this.second = second;
+        }
+        @Override public T get(int index) {
+            int firstSize = first.size();
+            return index < firstSize ? first.get(index) : second[index - firstSize];
+        }
+        @Override public int size() {
+            return first.size() + second.length;
+        }
+    }
+
     private void assertCollectionIsNotEmpty() {
         if(elements.isEmpty())
             throw new IllegalArgumentException("Can't sample from zero elements: " + elements);
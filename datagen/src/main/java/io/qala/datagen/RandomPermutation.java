@@ -0,0 +1,85 @@
+package io.qala.datagen;
+
+import static io.qala.datagen.RandomValue.RANDOM;
+
+/**
+ * <p>Pseudo-random bijection of {@code [0, size)} onto itself: {@link #get(long)} of different indices always returns
+ * different values, so walking the indices one by one gives unique values in random order. Nothing is stored
+ * except for the keys, so permutations of billions of elements take the same memory as of 10.</p>
+ * <p>It's a balanced Feistel network over the smallest power of 4 that covers the size (so it's at most 4 times
+ * larger). If the result falls outside of {@code [0, size)}, it's encrypted again until it's inside (cycle walking),
+ * which takes less than 4 rounds on average. The keys are taken from Datagen's randomness, so the permutation can be
+ * reproduced with the seed.</p>
+ * <p>Note that it's a pseudo-random permutation: good enough for the test data, but not every one of the
+ * {@code size!} permutations is possible.</p>
+ */
+@SuppressWarnings("WeakerAccess")
+public final class RandomPermutation {
+    private static final int ROUNDS = 6;
+    /** Size as unsigned long, 0 stands for 2^64. */
+    private final long size;
+    private final int halfBits;
+    private final long halfMask;
+    private final long[] keys = new long[ROUNDS];
+
+    private RandomPermutation(long size) {
+        this.size = size;
+        int bits = 64 - Long.numberOfLeadingZeros(size - 1);
+        this.halfBits = (bits + 1) / 2;
+        this.halfMask = halfBits == 32 ? 0xFFFFFFFFL : (1L << halfBits) - 1;
+        for (int i = 0; i < ROUNDS; i++) keys[i] = RANDOM.nextLong();
+    }
+
+    /**
+     * @param size number of elements to permute, must be positive
+     * @return new random permutation of {@code [0, size)}
+     */
+    public static RandomPermutation of(long size) {
+        if (size <= 0) throw new IllegalArgumentException("Size of the permutation must be positive: " + size);
+        return new RandomPermutation(size);
+    }
+    /**
+     * Permutes all the values from {@code [min, max]}, e.g. all the longs if it's {@code [Long.MIN_VALUE,
+     * Long.MAX_VALUE]}. To get the actual value add {@code min} to what {@link #get(long)} returns.
+     */
+    static RandomPermutation ofRange(long min, long max) {
+        RandomValue.throwIfMaxLessThanMin(min, max);
+        return new RandomPermutation(max - min + 1);
+    }
+
+    /** @return number of elements, if it's a range of all longs, then it's 0 which stands for 2^64 */
+    public long size() {
+        return size;
+    }
+    /**
+     * @param index from {@code [0, size)}
+     * @return the element that the index is mapped to, from {@code [0, size)}
+     */
+    public long get(long index) {
+        if (!lessThanSize(index))
+            throw new IndexOutOfBoundsException("Index [" + index + "] must be less than [" + size + "]");
+        long value = index;
+        do value = encrypt(value); while (!lessThanSize(value));
+        return value;
+    }
+
+    private long encrypt(long value) {
+        long left = value >>> halfBits & halfMask, right = value & halfMask;
+        for (long key : keys) {
+            long next = left ^ mix(right ^ key) & halfMask;
+            left = right;
+            right = next;
+        }
+        return left << halfBits | right;
+    }
+    /** Works for sizes above Long.MAX_VALUE by comparing as unsigned. */
+    private boolean lessThanSize(long value) {
+        return size == 0 || value + Long.MIN_VALUE < size + Long.MIN_VALUE;
+    }
+    /** Finalizer of SplitMix64: each bit of the result depends on all the bits of the input. */
+    private static long mix(long z) {
+        z = (z ^ z >>> 30) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ z >>> 27) * 0x94D049BB133111EBL;
+        return z ^ z >>> 31;
+    }
+}
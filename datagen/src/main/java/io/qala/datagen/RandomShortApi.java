@@ -2,17 +2,21 @@ package io.qala.datagen;
 
 import io.qala.datagen.adaptors.CommonsMath4;
 
+import java.nio.charset.Charset;
 import java.util.Collection;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import static io.qala.datagen.RandomElements.from;
 import static io.qala.datagen.RandomValue.*;
+import static io.qala.datagen.adaptors.CommonsLang3RandomStringUtils.*;
 
 /**
  * If you need a more flexible way of generating the values including different string modifiers like prefixes and
- * suffixes, use {@link RandomValue}.
+ * suffixes, use {@link RandomValue}. The methods here don't create intermediate objects, so they are the cheapest
+ * way to generate scalar values.
  */
 @SuppressWarnings({"Convert2Diamond"/*To support Java < 7*/, "Convert2streamapi"/*To support Java < 8*/,
         // IntelliJ became too paranoid about warnings, these are not real problems.
@@ -25,7 +29,7 @@ public class RandomShortApi {
      * @return integer between 0 (inclusive) to {@code max}
      */
     public static int integer(int max) {
-        return between(0, max).integer();
+        return nextInt(0, max);
     }
     /**
      * @param min inclusive, must be less than or equal to {@code max}
@@ -33,19 +37,19 @@ public class RandomShortApi {
      * @return integer from {@code min} to {@code max}
      */
     public static int integer(int min, int max) {
-        return between(min, max).integer();
+        return nextInt(min, max);
     }
     public static int integer() {
-        return between(Integer.MIN_VALUE, Integer.MAX_VALUE).integer();
+        return RANDOM.nextInt();
     }
 
     /** @return value between 0 (inclusive) and {@link Integer#MAX_VALUE} (inclusive) */
     public static int positiveInteger() {
-        return between(0, Integer.MAX_VALUE).integer();
+        return nextInt(0, Integer.MAX_VALUE);
     }
     /** @return value between {@link Long#MIN_VALUE} (inclusive) and {@link Long#MAX_VALUE} (inclusive) */
     public static long Long() {
-        return between(Long.MIN_VALUE, Long.MAX_VALUE).Long();
+        return RANDOM.nextLong();
     }
 
     public static double Double() {
@@ -113,27 +117,133 @@ public class RandomShortApi {
      * @return a long from min boundary to max
      */
     public static long Long(long min, long max) {
-        return between(min, max).Long();
+        return nextLong(min, max);
     }
+    /**
+     * Unlike generating integers one by one and checking for duplicates, this keeps no state except for a counter.
+     *
+     * @return iterator over all the integers of {@code [min, max]} in random order, each returned only once
+     * @see UniqueValues
+     */
+    public static UniqueValues<Integer> uniqueIntegers(int min, int max) {
+        return UniqueValues.integers(min, max);
+    }
+    /** @see #uniqueIntegers(int, int) */
+    public static UniqueValues<Long> uniqueLongs(long min, long max) {
+        return UniqueValues.longs(min, max);
+    }
+    /**
+     * Generates the same values as {@code n} calls of {@link #integer(int, int)}, but the boundaries are checked and
+     * the rejection threshold is computed once for the whole array - so it's much faster for large arrays.
+     *
+     * @param n   size of the resulting array
+     * @param min inclusive
+     * @param max inclusive
+     * @return an array of random integers from {@code min} to {@code max}
+     */
+    public static int[] ints(int n, int min, int max) {
+        return fill(new int[n], min, max);
+    }
+    /** @return an array of integers from the whole range of int */
+    public static int[] ints(int n) {
+        return ints(n, Integer.MIN_VALUE, Integer.MAX_VALUE);
+    }
+    /**
+     * @param min inclusive
+     * @param max inclusive
+     * @return the same array filled with random integers
+     * @see #ints(int, int, int)
+     */
+    public static int[] fill(int[] array, int min, int max) {
+        throwIfMaxLessThanMin(min, max);
+        CommonsMath4.fill(RANDOM, array, 0, array.length, min, max);
+        return array;
+    }
+    /**
+     * Generates the same values as {@code n} calls of {@link #Long(long, long)}.
+     *
+     * @see #ints(int, int, int)
+     */
+    public static long[] longs(int n, long min, long max) {
+        return fill(new long[n], min, max);
+    }
+    /** @return an array of longs from the whole range of long */
+    public static long[] longs(int n) {
+        return longs(n, Long.MIN_VALUE, Long.MAX_VALUE);
+    }
+    /** @return the same array filled with random longs from {@code min} to {@code max} inclusive */
+    public static long[] fill(long[] array, long min, long max) {
+        throwIfMaxLessThanMin(min, max);
+        CommonsMath4.fill(RANDOM, array, 0, array.length, min, max);
+        return array;
+    }
+    /**
+     * Generates the same values as {@code n} calls of {@link #Double(double, double)}.
+     *
+     * @param min inclusive
+     * @param max exclusive
+     */
+    public static double[] doubles(int n, double min, double max) {
+        return fill(new double[n], min, max);
+    }
+    /** @return an array of doubles from the same range as {@link #Double()} */
+    public static double[] doubles(int n) {
+        return doubles(n, Long.MIN_VALUE, Long.MAX_VALUE);
+    }
+    /** @return the same array filled with random doubles from {@code min} (inclusive) to {@code max} (exclusive) */
+    public static double[] fill(double[] array, double min, double max) {
+        CommonsMath4.fill(RANDOM, array, 0, array.length, min, max);
+        return array;
+    }
+    /**
+     * @param min inclusive
+     * @param max exclusive
+     */
+    public static float[] floats(int n, float min, float max) {
+        return fill(new float[n], min, max);
+    }
+    /** @return the same array filled with random floats from {@code min} (inclusive) to {@code max} (exclusive) */
+    public static float[] fill(float[] array, float min, float max) {
+        CommonsMath4.fill(RANDOM, array, 0, array.length, min, max);
+        return array;
+    }
+    /** @return an array of random bytes, 8 of them are taken from a single random long */
+    public static byte[] bytes(int n) {
+        return fill(new byte[n]);
+    }
+    /** @return the same array filled with random bytes */
+    public static byte[] fill(byte[] array) {
+        CommonsMath4.fill(RANDOM, array, 0, array.length);
+        return array;
+    }
+
     public static String alphanumeric(int exactLength) {
-        return length(exactLength).alphanumeric();
+        return randomAlphanumeric(nextLength(exactLength, exactLength));
     }
     public static String alphanumeric(int min, int max) {
-        return between(min, max).alphanumeric();
+        return randomAlphanumeric(nextLength(min, max));
+    }
+    /**
+     * @param exactLength length of each string
+     * @return iterator over alphanumeric strings of the same length, each returned only once
+     * @see UniqueValues#alphanumerics(int)
+     */
+    public static UniqueValues<String> uniqueAlphanumerics(int exactLength) {
+        return UniqueValues.alphanumerics(exactLength);
     }
 
     public static String numeric(int exactLength) {
-        return length(exactLength).numeric();
+        return randomNumeric(nextLength(exactLength, exactLength));
     }
     public static String numeric(int min, int max) {
-        return between(min, max).numeric();
+        return randomNumeric(nextLength(min, max));
     }
 
     public static String english(int exactLength) {
-        return length(exactLength).english();
+        return randomAlphabetic(nextLength(exactLength, exactLength));
     }
     public static String english(int min, int max) {
-        return between(min, max).english();
+        return randomAlphabetic(nextLength(min, max));
     }
 
     /**
@@ -145,7 +255,7 @@ public class RandomShortApi {
      * @return unicode characters including different languages and weird symbols
      */
     public static String unicode(int exactLength) {
-        return length(exactLength).unicode();
+        return UnicodeTable.assigned().generate(nextLength(exactLength, exactLength), RANDOM);
     }
 
     /**
@@ -158,7 +268,29 @@ public class RandomShortApi {
      * @return unicode characters including different languages and weird symbols
      */
     public static String unicode(int min, int max) {
-        return between(min, max).unicode();
+        return UnicodeTable.assigned().generate(nextLength(min, max), RANDOM);
+    }
+
+    /**
+     * @param exactBytes number of bytes the string takes when encoded with the charset
+     * @param charset    UTF-8, UTF-16, UTF-32 (incl. their BE/LE variants), ISO-8859-1 or US-ASCII
+     * @return unicode characters that take exactly the specified number of bytes
+     * @see RandomValue#unicodeOfBytes(Charset)
+     */
+    public static String unicodeOfBytes(int exactBytes, Charset charset) {
+        return unicodeOfBytes(exactBytes, exactBytes, charset);
+    }
+    /**
+     * @param minBytes min number of bytes the string takes when encoded with the charset
+     * @param maxBytes max number of bytes the string takes when encoded with the charset
+     * @param charset  UTF-8, UTF-16, UTF-32 (incl. their BE/LE variants), ISO-8859-1 or US-ASCII
+     * @return unicode characters that take the number of bytes between the boundaries
+     * @see RandomValue#unicodeOfBytes(Charset)
+     */
+    public static String unicodeOfBytes(int minBytes, int maxBytes, Charset charset) {
+        throwIfMaxLessThanMin(minBytes, maxBytes);
+        throwIfLowerBoundaryIsNegative(minBytes);
+        return UnicodeTable.assigned().generateEncoded(minBytes, maxBytes, charset, RANDOM);
     }
 
     /** @see RandomString#unicodeWithoutBoundarySpaces() */
@@ -170,10 +302,10 @@ public class RandomShortApi {
         return between(min, max).unicodeWithoutBoundarySpaces();
     }
     public static String specialSymbols(int exactLength) {
-        return length(exactLength).specialSymbols();
+        return random(nextLength(exactLength, exactLength), Vocabulary.specialSymbols());
     }
     public static String specialSymbols(int min, int max) {
-        return between(min, max).specialSymbols();
+        return random(nextLength(min, max), Vocabulary.specialSymbols());
     }
     /**
      * Returns a string with upper/lower case changed in random places, e.g. {@code Blah -> bLaH}
@@ -197,11 +329,16 @@ public class RandomShortApi {
      * @return an array of random booleans
      */
     public static boolean[] bools(int n) {
-        boolean[] result = new boolean[n];
-        for (int i = 0; i < n; i++) {
-            result[i] = bool();
-        }
-        return result;
+        return fill(new boolean[n]);
+    }
+    /**
+     * Fills the array with random booleans, 64 of them are taken from a single random long.
+     *
+     * @return the same array
+     */
+    public static boolean[] fill(boolean[] array) {
+        CommonsMath4.fill(RANDOM, array, 0, array.length);
+        return array;
     }
 
     public static boolean bool() {
@@ -251,6 +388,19 @@ public class RandomShortApi {
         return from(toSampleFrom).sample();
     }
 
+    /**
+     * Returns random element with the probability proportional to its weight, e.g. for {@code {US=70, UK=20, DE=10}}
+     * it returns {@code US} in 70% of cases. The sampling table is built on every invocation, if you sample from the
+     * same population repeatedly, keep the {@link WeightedElements} instead.
+     *
+     * @param elementsToWeights the population with relative weights, must be non-negative and not all zeros
+     * @return a random element, the elements with larger weights are returned more often
+     * @see WeightedElements
+     */
+    public static <T> T weighedSample(Map<T, ? extends Number> elementsToWeights) {
+        return WeightedElements.from(elementsToWeights).sample();
+    }
+
     /**
      * Returns either null or the specified object.
      *
@@ -364,6 +514,30 @@ public class RandomShortApi {
     @SafeVarargs public static <T> List<T> shuffled(T... toShuffle) {
         return from(toShuffle).shuffled();
     }
+    /**
+     * Shuffles the list in place, unlike {@link #shuffled(Collection)} it doesn't create a new one.
+     *
+     * @param toShuffle must support {@link List#set(int, Object)}
+     */
+    public static void shuffle(List<?> toShuffle) {
+        Shuffler.shuffle(toShuffle);
+    }
+    /** Shuffles the array in place. */
+    public static void shuffle(Object[] toShuffle) {
+        Shuffler.shuffle(toShuffle);
+    }
+    /** Shuffles the array in place. */
+    public static void shuffle(int[] toShuffle) {
+        Shuffler.shuffle(toShuffle);
+    }
+    /** Shuffles the array in place. */
+    public static void shuffle(long[] toShuffle) {
+        Shuffler.shuffle(toShuffle);
+    }
+    /** Shuffles the array in place. */
+    public static void shuffle(double[] toShuffle) {
+        Shuffler.shuffle(toShuffle);
+    }
 
     /**
      * Invokes one and only one of the specified functions. This is an API for Java8 Lambdas.
@@ -16,6 +16,7 @@ public interface RandomString {
             }
         }
     }
+
     String alphanumeric();
 
     List<String> alphanumerics();
@@ -52,6 +53,7 @@ public interface RandomString {
      * that are comprised of multiple chars.
      *
      * @return unicode characters including different languages and weird symbols
+     * @see UnicodeTable#assigned()
      */
     String unicode();
 
@@ -83,4 +85,5 @@ public interface RandomString {
      * @return a string consisting of special characters only
      */
     String specialSymbols();
+
 }
@@ -4,6 +4,14 @@ import io.qala.datagen.adaptors.CommonsLang3RandomStringUtils;
 import io.qala.datagen.adaptors.CommonsMath4;
 import io.qala.datagen.adaptors.DatagenRandom;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.Buffer;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Date;
@@ -15,12 +23,20 @@ import static io.qala.datagen.adaptors.CommonsLang3RandomStringUtils.random;
 @SuppressWarnings({"WeakerAccess", "Convert2Diamond"/*To support Java < 7*/})
 public class RandomValue implements RandomString {
     static final DatagenRandom RANDOM = new DatagenRandom();
+    /** Large values are written into streams by parts of this size, so that they don't take much memory. */
+    private static final int CHARS_PER_CHUNK = 8 * 1024;
+    /** Chars appended to {@link Appendable}s are generated here first, so they don't need an array per value. */
+    private static final ThreadLocal<char[]> APPEND_CHUNK = new ThreadLocal<char[]>() {
+        @Override protected char[] initialValue() {
+            return new char[CHARS_PER_CHUNK];
+        }
+    };
     private final List<StringModifier> modifiers = new CopyOnWriteArrayList<StringModifier>();
-    private final Long min;
-    private final Long max;
+    private final long min;
+    private final long max;
 
-    RandomValue(Long min, Long max) {
-        if (max < min) throw new IllegalArgumentException("Min [" + min + "] cannot be larger than max [" + max + "]");
+    RandomValue(long min, long max) {
+        throwIfMaxLessThanMin(min, max);
         this.min = min;
         this.max = max;
     }
@@ -47,17 +63,45 @@ public class RandomValue implements RandomString {
         return new Date(Long());
     }
 
-    public RandomString with(StringModifier ... modifiers) {
+    /**
+     * Compiles the boundaries, the type and the modifiers into an immutable generator that can be stored in a static
+     * field and shared between threads.
+     *
+     * @param type which chars to generate
+     * @return generator that creates the same kind of strings as the method of the specified type
+     */
+    public StringGenerator compile(Type type) {
+        return new StringGenerator(type, minInt(), maxInt(), modifiers.toArray(new StringModifier[0]));
+    }
+    /**
+     * Same as {@code compile(type).lazyList(size)}: a read-only list whose strings are generated only when they are
+     * read, so huge lists take no memory.
+     *
+     * @see StringGenerator#lazyList(int)
+     */
+    public List<String> lazyList(Type type, int size) {
+        return compile(type).lazyList(size);
+    }
+    /**
+     * Same as {@code compile(type).compactList(size)}: all the strings are kept in one array instead of an object per
+     * string, so large lists take several times less memory.
+     *
+     * @see StringGenerator#compactList(int)
+     */
+    public CompactStrings compactList(Type type, int size) {
+        return compile(type).compactList(size);
+    }
+
+    public RandomValue with(StringModifier ... modifiers) {
         this.modifiers.addAll(Arrays.asList(modifiers));
         return this;
     }
 
     @Override public String alphanumeric() {
-        throwIfLowerBoundaryIsNegative();
-        return applyStringModifiers(CommonsLang3RandomStringUtils.randomAlphanumeric(integer()));
+        return applyStringModifiers(CommonsLang3RandomStringUtils.randomAlphanumeric(length()));
     }
     @Override public List<String> alphanumerics() {
-        return alphanumerics(between(1, 100).integer());
+        return alphanumerics(nextInt(1, 100));
     }
     @Override public List<String> alphanumerics(int nOfElements) {
         throwIfLowerBoundaryIsNegative();
@@ -69,16 +113,15 @@ public class RandomValue implements RandomString {
     }
     @Override public List<String> alphanumerics(int minNOfElements, int maxNOfElements) {
         throwIfLowerBoundaryIsNegative();
-        int n = between(minNOfElements, maxNOfElements).integer();
+        int n = nextInt(minNOfElements, maxNOfElements);
         return alphanumerics(n);
     }
     @Override public String numeric() {
-        throwIfLowerBoundaryIsNegative();
-        return applyStringModifiers(CommonsLang3RandomStringUtils.randomNumeric(integer()));
+        return applyStringModifiers(CommonsLang3RandomStringUtils.randomNumeric(length()));
     }
 
     @Override public List<String> numerics() {
-        return numerics(between(1, 100).integer());
+        return numerics(nextInt(1, 100));
     }
     @Override public List<String> numerics(int nOfElements) {
         throwIfLowerBoundaryIsNegative();
@@ -90,21 +133,54 @@ public class RandomValue implements RandomString {
     }
 
     @Override public String english() {
-        throwIfLowerBoundaryIsNegative();
-        return applyStringModifiers(CommonsLang3RandomStringUtils.randomAlphabetic(integer()));
+        return applyStringModifiers(CommonsLang3RandomStringUtils.randomAlphabetic(length()));
     }
 
     @Override public String specialSymbols() {
-        throwIfLowerBoundaryIsNegative();
-        return applyStringModifiers(random(integer(), Vocabulary.specialSymbols()));
+        return applyStringModifiers(random(length(), Vocabulary.specialSymbols()));
     }
 
     @Override public String unicode() {
+        return unicode(UnicodeTable.assigned());
+    }
+    /**
+     * Generates well-formed UTF-16 string from the code points of the specified table, e.g. to get Cyrillic and
+     * Latin letters: {@code unicode(UnicodeTable.blocks(CYRILLIC, BASIC_LATIN))}. The length is measured in chars,
+     * so supplementary code points count twice.
+     *
+     * @param table code points to pick from
+     * @return string of the assigned code points from the table
+     */
+    public String unicode(UnicodeTable table) {
+        return applyStringModifiers(table.generate(length(), RANDOM));
+    }
+    /**
+     * Generates {@link #unicode()} whose boundaries are the number of bytes in the specified encoding rather than the
+     * number of chars. Useful to test the DB columns limited in bytes, e.g. {@code VARCHAR2(32 BYTE)}:
+     * {@code length(32).unicodeOfBytes(UTF_8)}.
+     *
+     * @param charset UTF-8, UTF-16, UTF-32 (incl. their BE/LE variants), ISO-8859-1 or US-ASCII. The code points that
+     *                the charset can't encode aren't generated.
+     * @return string that takes the number of bytes within the boundaries when encoded with the charset
+     */
+    public String unicodeOfBytes(Charset charset) {
+        return unicodeOfBytes(charset, UnicodeTable.assigned());
+    }
+    /**
+     * Same as {@link #unicodeOfBytes(Charset)}, but the code points are picked from the table.
+     *
+     * @param charset UTF-8, UTF-16, UTF-32 (incl. their BE/LE variants), ISO-8859-1 or US-ASCII
+     * @param table   code points to pick from
+     * @return string that takes the number of bytes within the boundaries when encoded with the charset
+     * @throws IllegalArgumentException if the code points of the table can't fill any number of bytes within the
+     *                                  boundaries, e.g. odd number of bytes from 2-byte Cyrillic letters
+     */
+    public String unicodeOfBytes(Charset charset, UnicodeTable table) {
         throwIfLowerBoundaryIsNegative();
-        return applyStringModifiers(CommonsLang3RandomStringUtils.random(integer()));
+        return applyStringModifiers(table.generateEncoded(minInt(), maxInt(), charset, RANDOM));
     }
     @Override public String unicodeWithoutBoundarySpaces() {
-        String s = applyStringModifiers(CommonsLang3RandomStringUtils.random(integer()));
+        String s = applyStringModifiers(UnicodeTable.assigned().generate(integer(), RANDOM));
         int lastIndex = s.length() - 1;
         if(isWhitespace(s.charAt(0)) || isWhitespace(s.charAt(lastIndex))) {
             char[] characters = s.toCharArray();
@@ -125,20 +201,207 @@ public class RandomValue implements RandomString {
             throw new IllegalArgumentException("You cannot generate string from an empty vocabulary. Either pass " +
                     "the symbols the string is to be generated from, or use methods like alphanumerics(), unicode()," +
                     " etc.");
-        throwIfLowerBoundaryIsNegative();
-        return applyStringModifiers(random(integer(), vocabulary));
+        return applyStringModifiers(random(length(), vocabulary));
     }
 
     @Override public String string(String vocabulary) {
         return string(vocabulary.toCharArray());
     }
 
-    private String applyStringModifiers(String value) {
-        String result = value;
-        for(StringModifier modifier: modifiers) {
-            result = modifier.modify(result);
+    /**
+     * Writes the chars of the specified type directly into the array, so that reusable buffers can be filled without
+     * creating intermediate strings. If there are {@link StringModifier}s, the string is created and copied anyway.
+     *
+     * @param type        which chars to generate, same as the corresponding method, e.g. {@link #alphanumeric()}
+     * @param destination the array to write the chars into
+     * @param offset      the index of the first char to write
+     * @return the number of chars written
+     * @throws IndexOutOfBoundsException if the generated length doesn't fit into the array after the offset
+     */
+    public int write(Type type, char[] destination, int offset) {
+        if (!modifiers.isEmpty()) {
+            String value = type.generate(this);
+            throwIfDoesNotFit(value.length(), destination, offset);
+            value.getChars(0, value.length(), destination, offset);
+            return value.length();
         }
-        return result;
+        int length = length();
+        throwIfDoesNotFit(length, destination, offset);
+        fill(type, destination, offset, length);
+        return length;
+    }
+    /**
+     * Same as {@link #write(Type, char[], int)}, but writes into the buffer starting from its current position.
+     *
+     * @param type        which chars to generate, same as the corresponding method, e.g. {@link #alphanumeric()}
+     * @param destination the buffer to write the chars into, its position is advanced by the number of chars written
+     * @return the number of chars written
+     * @throws java.nio.BufferOverflowException if the generated length is larger than the remaining space, in that
+     *                                          case nothing is written
+     */
+    public int write(Type type, CharBuffer destination) {
+        if (modifiers.isEmpty() && destination.hasArray()) {
+            int length = length();
+            if (length > destination.remaining()) throw new BufferOverflowException();
+            fill(type, destination.array(), destination.arrayOffset() + destination.position(), length);
+            ((Buffer) destination).position(destination.position() + length);// JDK 9+ has covariant CharBuffer#position(int)
+            return length;
+        }
+        char[] chars = chars(type);
+        destination.put(chars);
+        return chars.length;
+    }
+    /**
+     * Same as {@link #write(Type, char[], int)}, but appends to a {@link StringBuilder}, {@link java.io.Writer} or
+     * any other {@link Appendable}. The chars are generated by chunks into a buffer that the current thread reuses, so
+     * nothing is allocated per value unless there are {@link StringModifier}s.
+     *
+     * @param type        which chars to generate, same as the corresponding method, e.g. {@link #alphanumeric()}
+     * @param destination where to append the chars
+     * @return the number of chars written
+     * @throws IOException if the destination throws it
+     */
+    public int write(Type type, Appendable destination) throws IOException {
+        if (!modifiers.isEmpty()) {
+            char[] chars = chars(type);
+            append(chars, chars.length, destination);
+            return chars.length;
+        }
+        int length = length();
+        char[] chunk = APPEND_CHUNK.get();
+        for (int remaining = length; remaining != 0; ) {
+            int nOfChars = Math.min(remaining, chunk.length);
+            fill(type, chunk, 0, nOfChars);
+            append(chunk, nOfChars, destination);
+            remaining -= nOfChars;
+        }
+        return length;
+    }
+    int append(Type type, StringBuilder destination) {
+        try {
+            return write(type, destination);
+        } catch (IOException e) {
+            throw new IllegalStateException("Bug in Datagen: StringBuilder doesn't throw IOException", e);
+        }
+    }
+    private static void append(char[] chars, int length, Appendable destination) throws IOException {
+        if (destination instanceof StringBuilder) ((StringBuilder) destination).append(chars, 0, length);
+        else if (destination instanceof Writer) ((Writer) destination).write(chars, 0, length);
+        else destination.append(CharBuffer.wrap(chars, 0, length));
+    }
+    /**
+     * Generates the chars of the specified type and writes them as bytes right into the buffer, without creating
+     * a string and encoding it. Alphanumerics, numerics and English letters are ASCII, so they are the same bytes in
+     * all the supported charsets.
+     *
+     * @param type        which chars to generate, the boundaries are still the number of chars (not bytes)
+     * @param destination the buffer (heap or direct) to write the bytes into starting from its current position
+     * @param charset     UTF-8, ISO-8859-1 or US-ASCII; {@link Type#UNICODE} can be written only in UTF-8
+     * @return the number of bytes written
+     * @throws java.nio.BufferOverflowException if the bytes don't fit the remaining space, nothing is written then
+     */
+    public int write(Type type, ByteBuffer destination, Charset charset) {
+        ByteEncoding encoding = encoding(type, charset);
+        if (!modifiers.isEmpty()) {
+            char[] chars = chars(type);
+            byte[] bytes = new byte[encoding.maxBytes(chars.length)];
+            int n = encoding.encode(chars, 0, chars.length, bytes, 0);
+            destination.put(bytes, 0, n);
+            return n;
+        }
+        int length = length();
+        int maxBytes = maxBytes(type, length, encoding);
+        if (destination.hasArray() && destination.remaining() >= maxBytes) {
+            int n = encode(type, length, encoding, destination.array(), destination.arrayOffset() + destination.position());
+            ((Buffer) destination).position(destination.position() + n);// JDK 9+ has covariant ByteBuffer#position(int)
+            return n;
+        }
+        byte[] bytes = new byte[maxBytes];
+        int n = encode(type, length, encoding, bytes, 0);
+        destination.put(bytes, 0, n);
+        return n;
+    }
+    /**
+     * Same as {@link #write(Type, ByteBuffer, Charset)}, but writes into the stream by chunks, so even very long
+     * values don't need as much memory.
+     *
+     * @param type        which chars to generate, the boundaries are still the number of chars (not bytes)
+     * @param destination the stream to write the bytes into, it's neither flushed nor closed
+     * @param charset     UTF-8, ISO-8859-1 or US-ASCII; {@link Type#UNICODE} can be written only in UTF-8
+     * @return the number of bytes written
+     * @throws IOException if the stream throws it
+     */
+    public long write(Type type, OutputStream destination, Charset charset) throws IOException {
+        ByteEncoding encoding = encoding(type, charset);
+        if (!modifiers.isEmpty()) {
+            char[] chars = chars(type);
+            byte[] bytes = new byte[encoding.maxBytes(chars.length)];
+            int n = encoding.encode(chars, 0, chars.length, bytes, 0);
+            destination.write(bytes, 0, n);
+            return n;
+        }
+        int remaining = length();
+        byte[] chunk = new byte[maxBytes(type, Math.min(remaining, CHARS_PER_CHUNK), encoding)];
+        long written = 0;
+        while (remaining != 0) {
+            int nOfChars = Math.min(remaining, CHARS_PER_CHUNK);
+            int n = encode(type, nOfChars, encoding, chunk, 0);
+            destination.write(chunk, 0, n);
+            written += n;
+            remaining -= nOfChars;
+        }
+        return written;
+    }
+    /** @return number of bytes written */
+    private static int encode(Type type, int nOfChars, ByteEncoding encoding, byte[] destination, int offset) {
+        switch (type) {
+            case ALPHANUMERIC: CommonsLang3RandomStringUtils.randomAlphanumeric(destination, offset, nOfChars); return nOfChars;
+            case NUMERIC: CommonsLang3RandomStringUtils.randomNumeric(destination, offset, nOfChars); return nOfChars;
+            case ENGLISH: CommonsLang3RandomStringUtils.randomAlphabetic(destination, offset, nOfChars); return nOfChars;
+            case UNICODE: return UnicodeTable.assigned().generateUtf8(destination, offset, nOfChars, RANDOM);
+            case SPECIAL_SYMBOLS:
+                char[] chars = new char[nOfChars];
+                random(chars, 0, nOfChars, Vocabulary.specialSymbols());
+                return encoding.encode(chars, 0, nOfChars, destination, offset);
+            default: throw new IllegalStateException("Bug in Datagen: cannot dynamically generate " + type);
+        }
+    }
+    /** @return number of bytes that surely fit the chars of the type, alphanumerics and the like are ASCII */
+    private static int maxBytes(Type type, int nOfChars, ByteEncoding encoding) {
+        return type == Type.ALPHANUMERIC || type == Type.NUMERIC || type == Type.ENGLISH
+                ? nOfChars : encoding.maxBytes(nOfChars);
+    }
+    private static ByteEncoding encoding(Type type, Charset charset) {
+        ByteEncoding encoding = ByteEncoding.writable(charset);
+        if (type == Type.UNICODE && encoding != ByteEncoding.UTF_8)
+            throw new IllegalArgumentException("Unicode can't be written in " + charset.name() + ", only in UTF-8");
+        return encoding;
+    }
+    /** @return chars of the type with the modifiers applied */
+    private char[] chars(Type type) {
+        if (!modifiers.isEmpty()) return type.generate(this).toCharArray();
+        char[] chars = new char[length()];
+        fill(type, chars, 0, chars.length);
+        return chars;
+    }
+    static void fill(Type type, char[] destination, int offset, int length) {
+        switch (type) {
+            case ALPHANUMERIC: CommonsLang3RandomStringUtils.randomAlphanumeric(destination, offset, length); break;
+            case NUMERIC: CommonsLang3RandomStringUtils.randomNumeric(destination, offset, length); break;
+            case ENGLISH: CommonsLang3RandomStringUtils.randomAlphabetic(destination, offset, length); break;
+            case UNICODE: UnicodeTable.assigned().generate(destination, offset, length, RANDOM); break;
+            case SPECIAL_SYMBOLS: random(destination, offset, length, Vocabulary.specialSymbols()); break;
+            default: throw new IllegalStateException("Bug in Datagen: cannot dynamically generate " + type);
+        }
+    }
+    private static void throwIfDoesNotFit(int length, char[] destination, int offset) {
+        if (offset < 0 || offset > destination.length - length) throw new IndexOutOfBoundsException(
+                "Can't write " + length + " chars from index " + offset + " into an array of length " + destination.length);
+    }
+
+    private String applyStringModifiers(String value) {
+        if (modifiers.isEmpty()) return value;
+        return StringGenerator.modify(value, modifiers);
     }
     private List<String> applyStringModifiers(List<String> value) {
         List<String> result = value;
@@ -148,7 +411,12 @@ public class RandomValue implements RandomString {
         return result;
     }
     private void throwIfLowerBoundaryIsNegative() {
-        if(min < 0) throw new NumberOutOfBoundaryException("String length cannot be less than 0:" + min);
+        throwIfLowerBoundaryIsNegative(min);
+    }
+    /** @return random length of the string, validates that the boundaries can be a string length */
+    private int length() {
+        throwIfLowerBoundaryIsNegative();
+        return integer();
     }
     /**
      * <p>
@@ -178,13 +446,35 @@ public class RandomValue implements RandomString {
         if (max > Integer.MAX_VALUE) {
             throw new NumberOutOfBoundaryException("The number was expected to be integer, but it's too large:" + max);
         }
-        return max.intValue();
+        return (int) max;
     }
 
     private int minInt() {
         if (min < Integer.MIN_VALUE) {
             throw new NumberOutOfBoundaryException("The number was expected to be integer, but it's too small:" + min);
         }
-        return min.intValue();
+        return (int) min;
+    }
+
+    // Same as the instance methods, but without creating RandomValue - for the hot paths in RandomShortApi
+
+    static int nextInt(int min, int max) {
+        throwIfMaxLessThanMin(min, max);
+        return CommonsMath4.nextInt(RANDOM, max, min);
+    }
+    static long nextLong(long min, long max) {
+        throwIfMaxLessThanMin(min, max);
+        return CommonsMath4.nextLong(RANDOM, min, max);
+    }
+    static int nextLength(int min, int max) {
+        throwIfMaxLessThanMin(min, max);
+        throwIfLowerBoundaryIsNegative(min);
+        return CommonsMath4.nextInt(RANDOM, max, min);
+    }
+    static void throwIfMaxLessThanMin(long min, long max) {
+        if (max < min) throw new IllegalArgumentException("Min [" + min + "] cannot be larger than max [" + max + "]");
+    }
+    static void throwIfLowerBoundaryIsNegative(long min) {
+        if(min < 0) throw new NumberOutOfBoundaryException("String length cannot be less than 0:" + min);
     }
 }
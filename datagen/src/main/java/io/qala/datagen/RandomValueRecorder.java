@@ -13,4 +13,13 @@ public class RandomValueRecorder {
     public String generate() {
         return stringType.generate(value);
     }
+    /**
+     * Same as {@link #generate()}, but appends the chars without creating an intermediate string.
+     *
+     * @param destination where to append the generated chars
+     * @return number of chars appended
+     */
+    public int generate(StringBuilder destination) {
+        return value.append(stringType, destination);
+    }
 }
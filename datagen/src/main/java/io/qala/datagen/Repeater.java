@@ -56,8 +56,7 @@ public class Repeater {
                 if (next instanceof String) {
                     str.append(next);
                 } else {
-                    RandomValueRecorder randomValue = (RandomValueRecorder) next;
-                    str.append(randomValue.generate());
+                    ((RandomValueRecorder) next).generate(str);
                 }
             }
         }
@@ -0,0 +1,162 @@
+package io.qala.datagen;
+
+import io.qala.datagen.adaptors.CommonsMath4;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.*;
+
+import static io.qala.datagen.RandomValue.RANDOM;
+
+/**
+ * <p>Samples without replacement from populations of unknown size that can be iterated only once and that may not fit
+ * into memory - e.g. lines of production exports. Everything happens in a single pass and only the sample is kept in
+ * memory. The randomness comes from the same source as the rest of Datagen, so the sample can be reproduced with
+ * the seed.</p>
+ * <p>The elements in the returned sample are in no particular order.</p>
+ */
+@SuppressWarnings({"Convert2Diamond", "WeakerAccess"})
+public class ReservoirSampler {
+    private ReservoirSampler() {}
+
+    /**
+     * Returns relative weight of an element for {@link #sampleWeighted(Iterator, int, Weigher)}.
+     */
+    public interface Weigher<T> {
+        /** @return non-negative weight, elements with 0 weight are never sampled */
+        double weight(T element);
+    }
+
+    /**
+     * Uses Algorithm L: after the reservoir is filled, it computes how many elements to skip until the next one gets
+     * into the sample, so the random numbers are generated only for the elements that are actually taken.
+     *
+     * @param population elements to sample from, it's iterated once
+     * @param nToReturn  size of the sample
+     * @return {@code nToReturn} random elements of the population, or all of them if the population is smaller
+     */
+    public static <T> List<T> sample(Iterator<? extends T> population, int nToReturn) {
+        throwIfNegative(nToReturn);
+        if (nToReturn == 0) return new ArrayList<T>(0);
+        List<T> reservoir = new ArrayList<T>(nToReturn);
+        while (reservoir.size() < nToReturn && population.hasNext()) reservoir.add(population.next());
+        if (reservoir.size() < nToReturn) return reservoir;
+
+        double w = Math.exp(Math.log(nextOpenDouble()) / nToReturn);
+        while (true) {
+            long skip = (long) Math.floor(Math.log(nextOpenDouble()) / Math.log1p(-w));
+            for (long i = 0; i < skip; i++) {
+                if (!population.hasNext()) return reservoir;
+                population.next();
+            }
+            if (!population.hasNext()) return reservoir;
+            reservoir.set(CommonsMath4.nextIndex(RANDOM, nToReturn), population.next());
+            w *= Math.exp(Math.log(nextOpenDouble()) / nToReturn);
+        }
+    }
+    /** @see #sample(Iterator, int) */
+    public static <T> List<T> sample(Iterable<? extends T> population, int nToReturn) {
+        return sample(population.iterator(), nToReturn);
+    }
+    /**
+     * Samples lines of a text without reading it all into memory.
+     *
+     * @param text      the reader is consumed, but not closed
+     * @param nToReturn size of the sample
+     * @return {@code nToReturn} random lines, or all of them if there are fewer lines
+     * @throws IOException if reading fails
+     */
+    public static List<String> sampleLines(Reader text, int nToReturn) throws IOException {
+        Lines lines = new Lines(text instanceof BufferedReader ? (BufferedReader) text : new BufferedReader(text));
+        List<String> sample = sample(lines, nToReturn);
+        if (lines.error != null) throw lines.error;
+        return sample;
+    }
+
+    /**
+     * Weighted sampling without replacement (Algorithm A-Res): each element gets a key {@code u^(1/weight)} where
+     * {@code u} is uniformly random, the elements with the largest keys are the sample. Keeps a heap of size
+     * {@code nToReturn}, so it's O(n log k) in time and O(k) in memory.
+     *
+     * @param population elements to sample from, it's iterated once
+     * @param nToReturn  size of the sample
+     * @param weigher    returns weights of the elements, must be non-negative
+     * @return {@code nToReturn} random elements of the population, or all the elements with positive weight if there
+     * are fewer of them
+     */
+    public static <T> List<T> sampleWeighted(Iterator<? extends T> population, int nToReturn, Weigher<? super T> weigher) {
+        throwIfNegative(nToReturn);
+        if (nToReturn == 0) return new ArrayList<T>(0);
+        PriorityQueue<Keyed<T>> reservoir = new PriorityQueue<Keyed<T>>(nToReturn);
+        while (population.hasNext()) {
+            T next = population.next();
+            double weight = weigher.weight(next);
+            if (!(weight >= 0) || Double.isInfinite(weight))
+                throw new IllegalArgumentException("Weight must be a non-negative finite number, got: " + weight);
+            if (weight == 0) continue;
+            double key = Math.log(nextOpenDouble()) / weight;// log of u^(1/weight), doesn't underflow for small weights
+            if (reservoir.size() < nToReturn) reservoir.add(new Keyed<T>(key, next));
+            else if (key > reservoir.peek().key) {
+                reservoir.poll();
+                reservoir.add(new Keyed<T>(key, next));
+            }
+        }
+        List<T> result = new ArrayList<T>(reservoir.size());
+        for (Keyed<T> keyed : reservoir) result.add(keyed.element);
+        return result;
+    }
+
+    /** @return uniformly distributed number from (0, 1] so that its logarithm is finite */
+    private static double nextOpenDouble() {
+        return 1 - RANDOM.nextDouble();
+    }
+    private static void throwIfNegative(int nToReturn) {
+        if (nToReturn < 0) throw new IllegalArgumentException("Sample size cannot be negative: " + nToReturn);
+    }
+
+    private static class Keyed<T> implements Comparable<Keyed<T>> {
+        private final double key;
+        private final T element;
+
+        Keyed(double key, T element) {
+            this.key = key;
+            this.element = element;
+        }
+        @Override public int compareTo(Keyed<T> o) {
+            return Double.compare(key, o.key);
+        }
+    }
+
+    /** Iterator can't throw checked exceptions, so the error is kept to be re-thrown after the sampling. */
+    private static class Lines implements Iterator<String> {
+        private final BufferedReader reader;
+        private String next;
+        private IOException error;
+
+        Lines(BufferedReader reader) {
+            this.reader = reader;
+            this.next = readLine();
+        }
+        @Override public boolean hasNext() {
+            return next != null;
+        }
+        @Override public String next() {
+            if (next == null) throw new NoSuchElementException();
+            String current = next;
+            next = readLine();
+            return current;
+        }
+        @Override public void remove() {
+            throw new UnsupportedOperationException();
+        }
+        private String readLine() {
+            try {
+                return reader.readLine();
+            } catch (IOException e) {
+                error = e;
+                return null;
+            }
+        }
+    }
+}
@@ -9,4 +9,10 @@ import java.lang.annotation.Target;
 @Target({ElementType.METHOD, ElementType.TYPE})
 public @interface Seed {
     long value();
+
+    /**
+     * Name of the {@link io.qala.datagen.adaptors.RandomEngine} the seed was recorded with. If empty - the engine
+     * that the thread currently uses is kept.
+     */
+    String engine() default "";
 }
@@ -0,0 +1,108 @@
+package io.qala.datagen;
+
+import io.qala.datagen.adaptors.DatagenRandom;
+import io.qala.datagen.adaptors.RandomEngine;
+
+import java.util.concurrent.Callable;
+
+/**
+ * <p>Node in a tree of seeds: the children are derived from the parent's seed by their names or indices, so the whole
+ * tree is reproduced by the seed of the root - which is the seed that the test was started with and that
+ * {@code DatagenSeedExtension} logs.</p>
+ * <p>Values generated within a named child don't depend on how many values were generated before it, so adding an
+ * extra {@code integer()} to the beginning of a test doesn't change the rest of its data:</p>
+ * <pre>
+ * String username = SeedContext.root().child("username").call(new Callable&lt;String&gt;() {
+ *     public String call() { return alphanumeric(1, 20); }
+ * });
+ * </pre>
+ * <p>Tasks that are run by other threads (executors, fork/join) are wrapped with their own children, so they generate
+ * the same values no matter which thread runs them and in which order:</p>
+ * <pre>
+ * SeedContext parent = SeedContext.root();
+ * for (int i = 0; i &lt; nOfTasks; i++) executor.submit(parent.child(i).wrap(task));
+ * </pre>
+ * <p>Instances are immutable. Deriving a child is a couple of multiplications, entering it allocates the state of
+ * the engine.</p>
+ */
+@SuppressWarnings("WeakerAccess")
+public final class SeedContext {
+    private static final long FNV_OFFSET_BASIS = 0xCBF29CE484222325L;
+    private static final long FNV_PRIME = 0x100000001B3L;
+    private final long seed;
+    private final RandomEngine engine;
+
+    private SeedContext(long seed, RandomEngine engine) {
+        if (engine == null) throw new IllegalArgumentException("Random engine cannot be null");
+        this.seed = seed;
+        this.engine = engine;
+    }
+
+    /** @return context of the seed that the current thread was started with, see {@link DatagenRandom#getRootSeed()} */
+    public static SeedContext root() {
+        return new SeedContext(DatagenRandom.getRootSeed(), DatagenRandom.getCurrentEngine());
+    }
+    /** @return context with the engine of the current thread */
+    public static SeedContext of(long seed) {
+        return of(seed, DatagenRandom.getCurrentEngine());
+    }
+    public static SeedContext of(long seed, RandomEngine engine) {
+        return new SeedContext(seed, engine);
+    }
+
+    public long seed() {
+        return seed;
+    }
+    public RandomEngine engine() {
+        return engine;
+    }
+    /** @return context whose seed depends only on this seed and the name */
+    public SeedContext child(String name) {
+        long hash = FNV_OFFSET_BASIS;
+        for (int i = 0; i < name.length(); i++) hash = (hash ^ name.charAt(i)) * FNV_PRIME;
+        return child(hash);
+    }
+    /** @return context whose seed depends only on this seed and the index, e.g. of a parallel task */
+    public SeedContext child(long index) {
+        return new SeedContext(DatagenRandom.elementSeed(seed, index), engine);
+    }
+
+    /** Runs the task in the current thread with the values seeded by this context, then restores the thread's own. */
+    public void run(Runnable task) {
+        DatagenRandom.Scope scope = DatagenRandom.enter(seed, engine);
+        try {
+            task.run();
+        } finally {
+            scope.close();
+        }
+    }
+    /** @see #run(Runnable) */
+    public <T> T call(Callable<T> task) throws Exception {
+        DatagenRandom.Scope scope = DatagenRandom.enter(seed, engine);
+        try {
+            return task.call();
+        } finally {
+            scope.close();
+        }
+    }
+    /** @return task that runs within this context in whichever thread it's executed */
+    public Runnable wrap(final Runnable task) {
+        return new Runnable() {
+            @Override public void run() {
+                SeedContext.this.run(task);
+            }
+        };
+    }
+    /** @return task that runs within this context in whichever thread it's executed */
+    public <T> Callable<T> wrap(final Callable<T> task) {
+        return new Callable<T>() {
+            @Override public T call() throws Exception {
+                return SeedContext.this.call(task);
+            }
+        };
+    }
+
+    @Override public String toString() {
+        return seed + ", " + engine.name();
+    }
+}
@@ -0,0 +1,76 @@
+package io.qala.datagen;
+
+import io.qala.datagen.adaptors.CommonsMath4;
+
+import java.util.List;
+import java.util.ListIterator;
+import java.util.RandomAccess;
+
+import static io.qala.datagen.RandomValue.RANDOM;
+
+/**
+ * <p>Shuffles lists and arrays in place (Fisher-Yates), nothing is boxed and only the lists without random access are
+ * copied. The randomness comes from the same source as the rest of Datagen, so the order can be reproduced with the
+ * seed.</p>
+ * <p>Arrays are shuffled in the current thread, for arrays of hundreds of millions of elements see the parallel
+ * shuffle in the Java 8 module.</p>
+ */
+@SuppressWarnings("WeakerAccess")
+public class Shuffler {
+    private Shuffler() {}
+
+    /**
+     * Gives the same order as the array with the same elements. Lists without {@link RandomAccess} are copied into an
+     * array and written back, same as {@link java.util.Collections#shuffle(List)} does.
+     *
+     * @param toShuffle must support {@link List#set(int, Object)}
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public static void shuffle(List<?> toShuffle) {
+        if (toShuffle instanceof RandomAccess) {
+            List list = toShuffle;
+            for (int i = list.size() - 1; i > 0; i--)
+                list.set(i, list.set(CommonsMath4.nextIndex(RANDOM, i + 1), list.get(i)));
+        } else {
+            Object[] array = toShuffle.toArray();
+            shuffle(array);
+            ListIterator iterator = toShuffle.listIterator();
+            for (Object element : array) {
+                iterator.next();
+                iterator.set(element);
+            }
+        }
+    }
+    public static void shuffle(Object[] toShuffle) {
+        for (int i = toShuffle.length - 1; i > 0; i--) {
+            int j = CommonsMath4.nextIndex(RANDOM, i + 1);
+            Object swap = toShuffle[i];
+            toShuffle[i] = toShuffle[j];
+            toShuffle[j] = swap;
+        }
+    }
+    public static void shuffle(int[] toShuffle) {
+        for (int i = toShuffle.length - 1; i > 0; i--) {
+            int j = CommonsMath4.nextIndex(RANDOM, i + 1);
+            int swap = toShuffle[i];
+            toShuffle[i] = toShuffle[j];
+            toShuffle[j] = swap;
+        }
+    }
+    public static void shuffle(long[] toShuffle) {
+        for (int i = toShuffle.length - 1; i > 0; i--) {
+            int j = CommonsMath4.nextIndex(RANDOM, i + 1);
+            long swap = toShuffle[i];
+            toShuffle[i] = toShuffle[j];
+            toShuffle[j] = swap;
+        }
+    }
+    public static void shuffle(double[] toShuffle) {
+        for (int i = toShuffle.length - 1; i > 0; i--) {
+            int j = CommonsMath4.nextIndex(RANDOM, i + 1);
+            double swap = toShuffle[i];
+            toShuffle[i] = toShuffle[j];
+            toShuffle[j] = swap;
+        }
+    }
+}
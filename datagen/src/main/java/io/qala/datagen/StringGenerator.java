@@ -0,0 +1,145 @@
+package io.qala.datagen;
+
+import java.util.*;
+
+import static io.qala.datagen.RandomValue.nextLength;
+
+/**
+ * <p>Immutable generator of random strings compiled from the length boundaries, the type of the chars and the
+ * {@link StringModifier}s. Unlike {@link RandomValue#with(StringModifier...)} it can't be changed after creation, so
+ * it can be kept in a static field and shared between threads:</p>
+ * <pre>
+ * static final StringGenerator USERNAMES = between(1, 20).with(spaceLeft()).compile(ALPHANUMERIC);
+ * ...
+ * String username = USERNAMES.generate();
+ * </pre>
+ * <p>The boundaries are validated once during compilation. Modifiers that replace chars in place
+ * ({@link StringModifier.InPlace}) are run one after another over the same {@code char[]}, so a string is created
+ * only once no matter how many modifiers there are.</p>
+ */
+@SuppressWarnings("WeakerAccess")
+public final class StringGenerator {
+    private final RandomString.Type type;
+    private final int min, max;
+    private final StringModifier[] modifiers;
+
+    StringGenerator(RandomString.Type type, int min, int max, StringModifier[] modifiers) {
+        if (type == null) throw new IllegalArgumentException("Type of the string to generate must be specified");
+        RandomValue.throwIfMaxLessThanMin(min, max);
+        RandomValue.throwIfLowerBoundaryIsNegative(min);
+        this.type = type;
+        this.min = min;
+        this.max = max;
+        this.modifiers = modifiers.clone();
+    }
+
+    /** @return a new random string of the compiled type, length and modifications */
+    public String generate() {
+        return new String(generateChars());
+    }
+    /**
+     * Generates {@code size} strings into one arena instead of creating an object per string - same values as
+     * {@code size} calls of {@link #generate()}, but several times less memory for large fixtures.
+     *
+     * @param size number of elements in the list
+     * @return immutable list that can be shared between threads
+     */
+    public CompactStrings compactList(int size) {
+        if (size < 0) throw new IllegalArgumentException("Size of the list cannot be negative: " + size);
+        long averageLength = ((long) min + max) / 2;// the arena grows if it's not enough, so don't reserve too much
+        CompactStrings.Builder builder = new CompactStrings.Builder(size, (int) Math.min(size * averageLength, 1 << 24));
+        for (int i = 0; i < size; i++) {
+            char[] chars = generateChars();
+            builder.add(chars, 0, chars.length);
+        }
+        return builder.build();
+    }
+
+    /**
+     * Returns a read-only list of {@code size} strings that are generated only when they are read: element {@code i}
+     * is computed from the seed of the list and {@code i}, so reading it again gives the same string. The list
+     * takes O(1) memory regardless of its size and tests that read only a few elements pay only for them.
+     *
+     * @param size number of elements in the list
+     * @return list that can be shared between threads
+     * @see Dataset
+     */
+    public List<String> lazyList(int size) {
+        return lazyList(size, 0);
+    }
+    /**
+     * Same as {@link #lazyList(int)}, but keeps the last read strings so that reading them again doesn't re-generate
+     * them - e.g. if the same elements are compared or hashed multiple times.
+     *
+     * @param size      number of elements in the list
+     * @param cacheSize max number of the most recently read strings to keep, 0 means no cache
+     * @return list that can be shared between threads
+     */
+    public List<String> lazyList(int size, int cacheSize) {
+        return new LazyList(size, cacheSize, Dataset.of(new Dataset.Element<String>() {
+            @Override public String generate(long index) {
+                return StringGenerator.this.generate();
+            }
+        }));
+    }
+
+    private char[] generateChars() {
+        char[] chars = new char[nextLength(min, max)];
+        RandomValue.fill(type, chars, 0, chars.length);
+        return modify(chars, modifiers);
+    }
+
+    /**
+     * Applies the modifiers in turn, the ones that can change the chars in place don't need a string.
+     *
+     * @return either the same array modified in place, or a new one if some of the modifiers needed a string
+     */
+    static char[] modify(char[] chars, StringModifier[] modifiers) {
+        char[] result = chars;
+        for (StringModifier modifier : modifiers) {
+            if (modifier instanceof StringModifier.InPlace) ((StringModifier.InPlace) modifier).modify(result);
+            else result = modifier.modify(new String(result)).toCharArray();
+        }
+        return result;
+    }
+    static String modify(String value, List<StringModifier> modifiers) {
+        return new String(modify(value.toCharArray(), modifiers.toArray(new StringModifier[modifiers.size()])));
+    }
+
+    private static class LazyList extends AbstractList<String> implements RandomAccess {
+        private final int size;
+        private final Dataset<String> elements;
+        /** Least recently read strings are evicted first, null if there's no cache. */
+        private final Map<Integer, String> cache;
+
+        LazyList(int size, final int cacheSize, Dataset<String> elements) {
+            if (size < 0) throw new IllegalArgumentException("Size of the list cannot be negative: " + size);
+            if (cacheSize < 0) throw new IllegalArgumentException("Size of the cache cannot be negative: " + cacheSize);
+            this.size = size;
+            this.elements = elements;
+            this.cache = cacheSize == 0 ? null : new LinkedHashMap<Integer, String>(16, .75f, true) {
+                @Override protected boolean removeEldestEntry(Map.Entry<Integer, String> eldest) {
+                    return size() > cacheSize;
+                }
+            };
+        }
+
+        @Override public String get(int index) {
+            if (index < 0 || index >= size)
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+            if (cache == null) return elements.get(index);
+            synchronized (cache) {
+                String cached = cache.get(index);
+                if (cached != null) return cached;
+            }
+            String generated = elements.get(index);
+            synchronized (cache) {
+                cache.put(index, generated);
+            }
+            return generated;
+        }
+        @Override public int size() {
+            return size;
+        }
+    }
+}
@@ -1,6 +1,6 @@
 package io.qala.datagen;
 
-import io.qala.datagen.adaptors.CommonsLang3RandomStringUtils;
+import io.qala.datagen.adaptors.CommonsMath4;
 
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -34,6 +34,21 @@ public interface StringModifier {
         }
     }
 
+    /**
+     * Modifier that only replaces chars and thus can work right on the array of chars. Several such modifiers are run
+     * over the same array without creating intermediate strings.
+     */
+    abstract class InPlace extends WithDefaultBatchModify {
+        /** @param chars the chars to modify, the length can't be changed */
+        public abstract void modify(char[] chars);
+
+        @Override public String modify(String original) {
+            char[] chars = original.toCharArray();
+            modify(chars);
+            return new String(chars);
+        }
+    }
+
     @SuppressWarnings("SameParameterValue") class Impls {
         private Impls() {}
         public static StringModifier spaces() {
@@ -74,12 +89,11 @@ public interface StringModifier {
             return oneOf(chars.toCharArray());
         }
 
-        public static StringModifier oneOf(final char... chars) {
-            return new WithDefaultBatchModify() {
-                @Override public String modify(String original) {
-                    int index = integer(original.length() - 1);
-                    String symbol = CommonsLang3RandomStringUtils.random(1, chars);
-                    return new StringBuilder(original).replace(index, index + 1, symbol).toString();
+        public static StringModifier oneOf(char... chars) {
+            final char[] vocabulary = withoutSurrogates(chars);
+            return new InPlace() {
+                @Override public void modify(char[] original) {
+                    original[integer(original.length - 1)] = randomChar(vocabulary);
                 }
             };
         }
@@ -105,51 +119,62 @@ public interface StringModifier {
          * @see #multipleOf(String)
          */
         public static StringModifier occasional(final String chars) {
-            return new WithDefaultBatchModify() {
-                @Override public String modify(String original) {
-                    return bool() ? original : multipleOf(chars).modify(original);
+            final InPlace multipleOf = replaceMultiple(chars.toCharArray());
+            return new InPlace() {
+                @Override public void modify(char[] original) {
+                    if (!bool()) multipleOf.modify(original);
                 }
             };
         }
 
         public static StringModifier multipleOf(final char... chars) {
-            return new WithDefaultBatchModify() {
-                @Override public String modify(String original) {
-                    int nOfSymbols = between(1, original.length()).integer();
-                    StringBuilder stringBuilder = new StringBuilder(original);
-                    for (int i = 0; i < nOfSymbols; i++) {
-                        int index = integer(original.length() - 1);
-                        String symbol = length(1).string(chars);
-                        stringBuilder.replace(index, index + 1, symbol);
-                    }
-                    return stringBuilder.toString();
+            return replaceMultiple(chars);
+        }
+        private static InPlace replaceMultiple(char[] chars) {
+            final char[] vocabulary = withoutSurrogates(chars);
+            return new InPlace() {
+                @Override public void modify(char[] original) {
+                    int nOfSymbols = between(1, original.length).integer();
+                    for (int i = 0; i < nOfSymbols; i++)
+                        original[integer(original.length - 1)] = randomChar(vocabulary);
                 }
             };
         }
 
         public static StringModifier prefix(final String prefix) {
-            return new WithDefaultBatchModify() {
-                @Override public String modify(String original) {
-                    if (original.length() < prefix.length())
+            return new InPlace() {
+                @Override public void modify(char[] original) {
+                    if (original.length < prefix.length())
                         throw new IllegalArgumentException("Prefix cannot be longer than the main string");
-
-                    StringBuilder stringBuilder = new StringBuilder(original);
-                    stringBuilder.replace(0, prefix.length(), prefix);
-                    return stringBuilder.toString();
+                    prefix.getChars(0, prefix.length(), original, 0);
                 }
             };
         }
         public static StringModifier suffix(final String suffix) {
-            return new WithDefaultBatchModify() {
-                @Override public String modify(String original) {
-                    if(original.length() < suffix.length())
+            return new InPlace() {
+                @Override public void modify(char[] original) {
+                    if(original.length < suffix.length())
                         throw new IllegalArgumentException("Suffix cannot be longer than the main string");
-                    StringBuilder stringBuilder = new StringBuilder(original);
-                    stringBuilder.replace(original.length() - suffix.length(), original.length(), suffix);
-                    return stringBuilder.toString();
+                    suffix.getChars(0, suffix.length(), original, original.length - suffix.length());
                 }
             };
         }
+        /**
+         * A single char replaces a single char of the string, so a half of a surrogate pair would be left unpaired.
+         * Such chars are never inserted - same as when each char was generated with {@code length(1).string(chars)}.
+         */
+        private static char[] withoutSurrogates(char[] chars) {
+            StringBuilder result = new StringBuilder(chars.length);
+            for (char c : chars) if (c < Character.MIN_SURROGATE || c > Character.MAX_SURROGATE) result.append(c);
+            if (result.length() == 0 && chars.length != 0) throw new IllegalArgumentException(
+                    "Vocabulary has only surrogate chars, they can't be inserted one by one: " + new String(chars));
+            return result.length() == chars.length ? chars : result.toString().toCharArray();
+        }
+        private static char randomChar(char[] chars) {
+            if (chars.length == 0) throw new IllegalArgumentException("You cannot insert symbols from an empty vocabulary");
+            return chars[CommonsMath4.nextIndex(RANDOM, chars.length)];
+        }
+
         public static StringModifier whitespaceReplacement(final String replacement) {
             return new WithDefaultBatchModify() {
                 @Override public String modify(String original) {
@@ -0,0 +1,315 @@
+package io.qala.datagen;
+
+import io.qala.datagen.adaptors.CommonsMath4;
+
+import java.lang.Character.UnicodeBlock;
+import java.nio.charset.Charset;
+import java.util.*;
+
+/**
+ * <p>Precomputed code points that {@link RandomValue#unicode(UnicodeTable)} picks from. Only code points assigned in
+ * Unicode 13.0 are included regardless of the JDK, so a seed gives the same
+ * strings on any JDK - unassigned, private use and surrogate code points are never generated. Supplementary code points
+ * are written as proper surrogate pairs, so the result is always well-formed UTF-16.</p>
+ * <p>A table consists of parts with relative weights: first a part is chosen according to its weight, then a code
+ * point is picked uniformly from that part. E.g. this generates Cyrillic 3 times more often than Latin:</p>
+ * <pre>UnicodeTable.block(CYRILLIC, 3).and(BASIC_LATIN, 1)</pre>
+ * <p>Tables are immutable and can be shared between threads.</p>
+ */
+@SuppressWarnings({"WeakerAccess", "Convert2Diamond"/*To support Java < 7*/})
+public class UnicodeTable {
+    private static final int MIN_SUPPLEMENTARY_CODE_POINT = 0x10000;
+    private final Part[] parts;
+    private final int[] weights;
+    private final int[] cumulativeWeights;
+    private final int[] cumulativeBmpWeights;// only the parts that have BMP code points contribute
+
+    private UnicodeTable(Part[] parts, int[] weights) {
+        this.parts = parts;
+        this.weights = weights;
+        this.cumulativeWeights = new int[parts.length];
+        this.cumulativeBmpWeights = new int[parts.length];
+        int total = 0, bmpTotal = 0;
+        for (int i = 0; i < parts.length; i++) {
+            if (weights[i] < 0) throw new IllegalArgumentException("Weight cannot be negative: " + weights[i]);
+            if (parts[i].size != 0) total += weights[i];
+            if (parts[i].bmpSize != 0) bmpTotal += weights[i];
+            cumulativeWeights[i] = total;
+            cumulativeBmpWeights[i] = bmpTotal;
+        }
+    }
+
+    /**
+     * All the assigned code points. Supplementary code points are picked in 1 case of 32 (so most of the characters
+     * are from the BMP), otherwise the strings would mostly consist of the rare CJK ideographs which outnumber
+     * the rest of the Unicode.
+     *
+     * @return the table that {@link RandomString#unicode()} uses
+     */
+    public static UnicodeTable assigned() {
+        return Assigned.TABLE;
+    }
+
+    /**
+     * @param blocks the blocks to generate from, all code points are equally probable
+     * @return table with the assigned code points of the specified blocks
+     */
+    public static UnicodeTable blocks(UnicodeBlock... blocks) {
+        return new UnicodeTable(new Part[]{Part.of(new HashSet<UnicodeBlock>(Arrays.asList(blocks)))}, new int[]{1});
+    }
+
+    /**
+     * @param block  the block to generate from
+     * @param weight relative weight of the block when other blocks are added with {@link #and(UnicodeBlock, int)}
+     * @return table with the assigned code points of the block
+     */
+    public static UnicodeTable block(UnicodeBlock block, int weight) {
+        return new UnicodeTable(new Part[]{Part.of(Collections.singleton(block))}, new int[]{weight});
+    }
+
+    /**
+     * @param block  the block to add
+     * @param weight relative weight of the block compared to the weights of the other blocks in this table
+     * @return new table that consists of the current one plus the specified block
+     */
+    public UnicodeTable and(UnicodeBlock block, int weight) {
+        Part[] parts = new Part[this.parts.length + 1];
+        int[] weights = new int[this.parts.length + 1];
+        System.arraycopy(this.parts, 0, parts, 0, this.parts.length);
+        System.arraycopy(this.weights, 0, weights, 0, this.weights.length);
+        parts[this.parts.length] = Part.of(Collections.singleton(block));
+        weights[this.parts.length] = weight;
+        return new UnicodeTable(parts, weights);
+    }
+
+    /**
+     * @param length number of chars (not code points) in the result, supplementary code points take 2 chars
+     * @return well-formed UTF-16 string of the specified length
+     * @throws IllegalArgumentException if the table has no code points with positive weight, or if the length is odd
+     *                                  but the table contains supplementary code points only
+     */
+    String generate(int length, Random random) {
+        char[] buffer = new char[length];
+        generate(buffer, 0, length, random);
+        return new String(buffer);
+    }
+    /** Same as {@link #generate(int, Random)}, but writes the chars into {@code buffer[offset, offset+length)}. */
+    void generate(char[] buffer, int offset, int length, Random random) {
+        throwIfNoCodePoints(length);
+        int end = offset + length;
+        for (int i = offset; i < end; ) i += Character.toChars(nextCodePoint(end - i, length, random), buffer, i);
+    }
+    /**
+     * Same as {@link #generate(int, Random)}, but the code points are written as UTF-8 bytes.
+     *
+     * @param buffer must have at least 3 bytes per char after the offset
+     * @param length number of chars (not bytes), so that the result is the same as the encoded {@link #generate}
+     * @return number of bytes written
+     */
+    int generateUtf8(byte[] buffer, int offset, int length, Random random) {
+        throwIfNoCodePoints(length);
+        int b = offset;
+        for (int i = 0; i < length; ) {
+            int codePoint = nextCodePoint(length - i, length, random);
+            if (codePoint < 0x80) buffer[b++] = (byte) codePoint;
+            else if (codePoint < 0x800) b = ByteEncoding.writeTwoBytes(codePoint, buffer, b);
+            else if (codePoint < MIN_SUPPLEMENTARY_CODE_POINT) b = ByteEncoding.writeThreeBytes(codePoint, buffer, b);
+            else b = ByteEncoding.writeFourBytes(codePoint, buffer, b);
+            i += Character.charCount(codePoint);
+        }
+        return b - offset;
+    }
+    private int nextCodePoint(int remainingChars, int length, Random random) {
+        if (remainingChars == 1) {// no room for a surrogate pair
+            if (cumulativeBmpWeights[parts.length - 1] == 0) throw new IllegalArgumentException(
+                    "Can't generate string of odd length [" + length + "] from supplementary code points only");
+            return parts[pick(cumulativeBmpWeights, random)].bmpCodePoint(random);
+        }
+        return parts[pick(cumulativeWeights, random)].codePoint(random);
+    }
+    private void throwIfNoCodePoints(int length) {
+        if (length != 0 && cumulativeWeights[parts.length - 1] == 0)
+            throw new IllegalArgumentException("There are no code points with positive weight to generate from");
+    }
+
+    /**
+     * Generates a string whose length in the specified encoding is between the boundaries. The byte length is tracked
+     * while the code points are picked: the code points that are too long to fit the remaining bytes, or that would
+     * leave a remainder that can't be filled by the code points of this table (e.g. 1 byte if the table has only
+     * 2-byte Cyrillic letters) aren't chosen. So there is no need to encode the string and re-generate it.
+     *
+     * @param minBytes min length of the encoded string, inclusive
+     * @param maxBytes max length of the encoded string, inclusive
+     * @param charset  UTF-8, UTF-16, UTF-32 (incl. their BE/LE variants), ISO-8859-1 or US-ASCII
+     * @return string that takes a random number of bytes between the boundaries when encoded with the charset
+     * @throws IllegalArgumentException if the charset isn't supported or if there is no length between the
+     *                                  boundaries that the code points of the table can fill
+     */
+    String generateEncoded(int minBytes, int maxBytes, Charset charset, Random random) {
+        ByteEncoding encoding = ByteEncoding.of(charset);
+        int[][] counts = new int[parts.length][];// number of code points of each width in each part
+        int[] widths = encoding.widths;
+        boolean[] present = new boolean[widths.length];
+        for (int i = 0; i < parts.length; i++) {
+            counts[i] = parts[i].countPerWidth(encoding);
+            for (int w = 0; w < widths.length; w++) present[w] |= weights[i] != 0 && counts[i][w] != 0;
+        }
+        boolean[] reachable = reachableLengths(maxBytes - encoding.bom, widths, present);
+        int bytes = pickLength(minBytes, maxBytes, encoding.bom, reachable, random);
+
+        char[] buffer = new char[bytes];// each encoding takes at least 1 byte per char
+        int nOfChars = 0;
+        boolean[] allowed = new boolean[widths.length];
+        for (int remaining = bytes == 0 ? 0 : bytes - encoding.bom; remaining != 0; ) {
+            for (int w = 0; w < widths.length; w++)
+                allowed[w] = present[w] && widths[w] <= remaining && reachable[remaining - widths[w]];
+            int part = pickPart(counts, allowed, random);
+            int index = CommonsMath4.nextIndex(random, sum(counts[part], allowed));
+            int w = 0;
+            while (!allowed[w] || index >= counts[part][w]) {
+                if (allowed[w]) index -= counts[part][w];
+                w++;
+            }
+            int codePoint = parts[part].codePointAt(parts[part].countBelow(encoding.lowestCodePoint(w)) + index);
+            nOfChars += Character.toChars(codePoint, buffer, nOfChars);
+            remaining -= widths[w];
+        }
+        return new String(buffer, 0, nOfChars);
+    }
+    private int pickPart(int[][] counts, boolean[] allowed, Random random) {
+        int total = 0;
+        for (int i = 0; i < parts.length; i++) if (sum(counts[i], allowed) != 0) total += weights[i];
+        int r = CommonsMath4.nextIndex(random, total);
+        for (int i = 0; ; i++) {
+            if (sum(counts[i], allowed) == 0) continue;
+            if (r < weights[i]) return i;
+            r -= weights[i];
+        }
+    }
+    private static int sum(int[] countPerWidth, boolean[] allowed) {
+        int sum = 0;
+        for (int w = 0; w < countPerWidth.length; w++) if (allowed[w]) sum += countPerWidth[w];
+        return sum;
+    }
+    /** @return which numbers of bytes (up to max) can be composed of the code points of the present widths */
+    private static boolean[] reachableLengths(int max, int[] widths, boolean[] present) {
+        boolean[] reachable = new boolean[Math.max(max, 0) + 1];
+        reachable[0] = true;
+        for (int length = 1; length < reachable.length; length++)
+            for (int w = 0; w < widths.length && !reachable[length]; w++)
+                reachable[length] = present[w] && widths[w] <= length && reachable[length - widths[w]];
+        return reachable;
+    }
+    /** @return a number of bytes between the boundaries that can be filled, all such numbers are equally probable */
+    private static int pickLength(int min, int max, int bom, boolean[] reachable, Random random) {
+        int count = 0;
+        for (int length = min; length <= max; length++) if (isReachable(length, bom, reachable)) count++;
+        if (count == 0) throw new IllegalArgumentException("Can't generate a string of [" + min + ", " + max
+                + "] bytes from the code points of the table");
+        int index = CommonsMath4.nextIndex(random, count);
+        for (int length = min; ; length++)
+            if (isReachable(length, bom, reachable) && index-- == 0) return length;
+    }
+    private static boolean isReachable(int length, int bom, boolean[] reachable) {
+        return length == 0 || (length - bom > 0 && reachable[length - bom]);
+    }
+
+    /** @return index of the first part whose cumulative weight is greater than a random number below the total */
+    private static int pick(int[] cumulativeWeights, Random random) {
+        int hi = cumulativeWeights.length - 1;
+        if (hi == 0) return 0;
+        int r = CommonsMath4.nextIndex(random, cumulativeWeights[hi]);
+        int lo = 0;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (cumulativeWeights[mid] > r) hi = mid;
+            else lo = mid + 1;
+        }
+        return lo;
+    }
+
+    /** Sorted ranges of code points, BMP ranges go first and never cross into supplementary planes. */
+    private static class Part {
+        private final int[] starts;
+        private final int[] offsets;// number of code points before the range
+        private final int size, bmpSize;
+
+        private Part(int[] starts, int[] offsets, int size, int bmpSize) {
+            this.starts = starts;
+            this.offsets = offsets;
+            this.size = size;
+            this.bmpSize = bmpSize;
+        }
+
+        int codePoint(Random random) {
+            return codePointAt(CommonsMath4.nextIndex(random, size));
+        }
+        /** @return number of code points that the encoding writes with each of its widths */
+        int[] countPerWidth(ByteEncoding encoding) {
+            int[] counts = new int[encoding.widths.length];
+            for (int w = 0; w < counts.length; w++)
+                counts[w] = countBelow(encoding.limits[w]) - countBelow(encoding.lowestCodePoint(w));
+            return counts;
+        }
+        /** @return number of code points in this part that are less than the specified one */
+        int countBelow(int codePoint) {
+            int range = Arrays.binarySearch(starts, codePoint);
+            if (range >= 0) return offsets[range];
+            range = -range - 2;
+            if (range < 0) return 0;
+            int rangeSize = (range + 1 < offsets.length ? offsets[range + 1] : size) - offsets[range];
+            return offsets[range] + Math.min(codePoint - starts[range], rangeSize);
+        }
+        int bmpCodePoint(Random random) {
+            return codePointAt(CommonsMath4.nextIndex(random, bmpSize));
+        }
+        int codePointAt(int offset) {
+            int range = Arrays.binarySearch(offsets, offset);
+            if (range < 0) range = -range - 2;
+            return starts[range] + offset - offsets[range];
+        }
+
+        /** @param blocks if null - all the assigned code points are included */
+        static Part of(Set<UnicodeBlock> blocks) {
+            return of(blocks, Character.MIN_CODE_POINT, Character.MAX_CODE_POINT);
+        }
+        /**
+         * The code points are taken from {@link AssignedCodePoints} rather than from the JDK, so the tables are the
+         * same on any JDK. U+FFFF is a noncharacter and thus isn't included, so the ranges never cross the BMP boundary.
+         */
+        static Part of(Set<UnicodeBlock> blocks, int from, int to) {
+            List<int[]> ranges = new ArrayList<int[]>();
+            int size = 0, bmpSize = 0;
+            for (int assigned = 0; assigned < AssignedCodePoints.count(); assigned++) {
+                int start = Math.max(AssignedCodePoints.start(assigned), from);
+                int end = Math.min(AssignedCodePoints.end(assigned), to);
+                int rangeStart = -1;
+                for (int cp = start; cp <= end + 1; cp++) {
+                    boolean include = cp <= end && (blocks == null || blocks.contains(UnicodeBlock.of(cp)));
+                    if (include && rangeStart < 0) {
+                        rangeStart = cp;
+                    } else if (!include && rangeStart >= 0) {
+                        ranges.add(new int[]{rangeStart, size});
+                        size += cp - rangeStart;
+                        if (rangeStart < MIN_SUPPLEMENTARY_CODE_POINT) bmpSize = size;
+                        rangeStart = -1;
+                    }
+                }
+            }
+            int[] starts = new int[ranges.size()], offsets = new int[ranges.size()];
+            for (int i = 0; i < starts.length; i++) {
+                starts[i] = ranges.get(i)[0];
+                offsets[i] = ranges.get(i)[1];
+            }
+            return new Part(starts, offsets, size, bmpSize);
+        }
+    }
+
+    /** Lazy holder - the table takes some time to compute, so do it only if it's needed. */
+    private static class Assigned {
+        static final UnicodeTable TABLE = new UnicodeTable(new Part[]{
+                Part.of(null, Character.MIN_CODE_POINT, MIN_SUPPLEMENTARY_CODE_POINT - 1),
+                Part.of(null, MIN_SUPPLEMENTARY_CODE_POINT, Character.MAX_CODE_POINT)
+        }, new int[]{31, 1});
+    }
+}
@@ -0,0 +1,85 @@
+package io.qala.datagen;
+
+import io.qala.datagen.adaptors.CommonsLang3RandomStringUtils;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * <p>Returns values in random order that are guaranteed to be unique without remembering the ones that were already
+ * returned - there is no {@code Set} of seen values and no retries, so billions of unique values take O(1) memory and
+ * each of them is generated in O(1):</p>
+ * <pre>
+ * UniqueValues&lt;String&gt; usernames = uniqueAlphanumerics(12);
+ * for (...) new Person(usernames.next());
+ * </pre>
+ * <p>The values are uniquely mapped from a counter with {@link RandomPermutation}. After all the values of the range
+ * were returned, {@link #hasNext()} becomes {@code false}. Instances aren't thread-safe.</p>
+ */
+@SuppressWarnings("WeakerAccess")
+public abstract class UniqueValues<T> implements Iterator<T> {
+    /** After this number of chars the values don't fit into long, the rest of the chars are just random. */
+    private static final int MAX_PERMUTED_ALPHANUMERICS = 10;
+    private static final char[] ALPHANUMERIC = "0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz".toCharArray();
+    private final RandomPermutation permutation;
+    private long nOfReturned;
+    private boolean exhausted;
+
+    private UniqueValues(RandomPermutation permutation) {
+        this.permutation = permutation;
+    }
+
+    /** @return unique integers from {@code [min, max]} in random order */
+    public static UniqueValues<Integer> integers(final int min, int max) {
+        return new UniqueValues<Integer>(RandomPermutation.ofRange(min, max)) {
+            @Override Integer value(long permuted) {
+                return (int) (min + permuted);
+            }
+        };
+    }
+    /** @return unique longs from {@code [min, max]} in random order, the range may include all the longs */
+    public static UniqueValues<Long> longs(final long min, long max) {
+        return new UniqueValues<Long>(RandomPermutation.ofRange(min, max)) {
+            @Override Long value(long permuted) {
+                return min + permuted;
+            }
+        };
+    }
+    /**
+     * @param length length of each string, if it's longer than 10 chars, the uniqueness is guaranteed by the last
+     *               10 chars while the rest are random
+     * @return unique alphanumeric strings of the same length
+     */
+    public static UniqueValues<String> alphanumerics(final int length) {
+        RandomValue.throwIfLowerBoundaryIsNegative(length);
+        final int permutedChars = Math.min(length, MAX_PERMUTED_ALPHANUMERICS);
+        long combinations = 1;
+        for (int i = 0; i < permutedChars; i++) combinations *= ALPHANUMERIC.length;
+        return new UniqueValues<String>(RandomPermutation.of(combinations)) {
+            @Override String value(long permuted) {
+                char[] chars = new char[length];
+                CommonsLang3RandomStringUtils.randomAlphanumeric(chars, 0, length - permutedChars);
+                for (int i = length - 1; i >= length - permutedChars; i--) {
+                    chars[i] = ALPHANUMERIC[(int) (permuted % ALPHANUMERIC.length)];
+                    permuted /= ALPHANUMERIC.length;
+                }
+                return new String(chars);
+            }
+        };
+    }
+
+    abstract T value(long permuted);
+
+    @Override public boolean hasNext() {
+        return !exhausted;
+    }
+    @Override public T next() {
+        if (exhausted) throw new NoSuchElementException("All [" + permutation.size() + "] unique values were returned");
+        T next = value(permutation.get(nOfReturned++));
+        exhausted = nOfReturned == permutation.size();
+        return next;
+    }
+    @Override public void remove() {
+        throw new UnsupportedOperationException("Unique values are generated, they can't be removed");
+    }
+}
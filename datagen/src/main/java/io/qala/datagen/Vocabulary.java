@@ -6,7 +6,23 @@ public class Vocabulary {
     /** Can be globally overwritten for your particular project. */
     public static String SPECIAL_SYMBOLS = "!@#$%^&*()_+{}[]'\"|:?><~`§\\,/;.";
 
+    private static volatile Symbols specialSymbols = new Symbols(SPECIAL_SYMBOLS);
+
+    /** @return chars of {@link #SPECIAL_SYMBOLS}, shared between invocations so must not be modified */
     static char[] specialSymbols() {
-        return SPECIAL_SYMBOLS.toCharArray();
+        Symbols cached = specialSymbols;
+        String current = SPECIAL_SYMBOLS;
+        if (cached.string != current) specialSymbols = cached = new Symbols(current);
+        return cached.chars;
+    }
+
+    private static class Symbols {
+        private final String string;
+        private final char[] chars;
+
+        private Symbols(String string) {
+            this.string = string;
+            this.chars = string.toCharArray();
+        }
     }
 }
@@ -0,0 +1,123 @@
+package io.qala.datagen;
+
+import io.qala.datagen.adaptors.CommonsMath4;
+
+import java.util.*;
+
+import static io.qala.datagen.RandomValue.RANDOM;
+
+/**
+ * <p>Samples elements with the probabilities proportional to their weights, e.g. to generate 70% of the users from
+ * 3 countries and the rest from the others:</p>
+ * <pre>
+ * static final WeightedElements&lt;Country&gt; COUNTRIES = WeightedElements.from(asList(US, UK, DE, FR, IT), 40, 20, 10, 15, 15);
+ * ...
+ * Country country = COUNTRIES.sample();
+ * </pre>
+ * <p>Uses Vose's alias method: the table is built once in O(n), then each element is sampled in O(1) regardless of the
+ * number of elements and their weights. Instances are immutable, so they can be shared between threads.</p>
+ */
+@SuppressWarnings({"Convert2Diamond", "WeakerAccess"})
+public class WeightedElements<T> {
+    private final Object[] elements;
+    /** Probability of returning the element of the column rather than its alias. */
+    private final double[] probabilities;
+    private final int[] aliases;
+
+    private WeightedElements(List<T> elements, double[] weights) {
+        if (elements.size() != weights.length) throw new IllegalArgumentException(
+                "Number of weights [" + weights.length + "] must match the number of elements [" + elements.size() + "]");
+        if (elements.isEmpty()) throw new IllegalArgumentException("Can't sample from zero elements");
+        this.elements = elements.toArray();
+        int n = weights.length;
+        this.probabilities = new double[n];
+        this.aliases = new int[n];
+
+        double[] scaled = scale(weights);
+        int[] small = new int[n], large = new int[n];
+        int nOfSmall = 0, nOfLarge = 0;
+        for (int i = 0; i < n; i++) {
+            if (scaled[i] < 1) small[nOfSmall++] = i;
+            else large[nOfLarge++] = i;
+        }
+        while (nOfSmall != 0 && nOfLarge != 0) {
+            int less = small[--nOfSmall], more = large[--nOfLarge];
+            probabilities[less] = scaled[less];
+            aliases[less] = more;
+            scaled[more] = (scaled[more] + scaled[less]) - 1;
+            if (scaled[more] < 1) small[nOfSmall++] = more;
+            else large[nOfLarge++] = more;
+        }
+        // whatever is left is 1 up to the rounding errors
+        while (nOfLarge != 0) probabilities[large[--nOfLarge]] = 1;
+        while (nOfSmall != 0) probabilities[small[--nOfSmall]] = 1;
+    }
+
+    /**
+     * @param elements the population
+     * @param weights  relative weights of the elements in the same order, must be non-negative and not all zeros
+     * @return sampler that returns elements proportionally to their weights
+     */
+    public static <T> WeightedElements<T> from(List<T> elements, double... weights) {
+        return new WeightedElements<T>(elements, weights);
+    }
+    /**
+     * @param elementsToWeights the population with relative weights of each element, the weights must be
+     *                          non-negative and not all zeros
+     * @return sampler that returns elements proportionally to their weights
+     */
+    public static <T> WeightedElements<T> from(Map<T, ? extends Number> elementsToWeights) {
+        List<T> elements = new ArrayList<T>(elementsToWeights.size());
+        double[] weights = new double[elementsToWeights.size()];
+        for (Map.Entry<T, ? extends Number> entry : elementsToWeights.entrySet()) {
+            weights[elements.size()] = entry.getValue().doubleValue();
+            elements.add(entry.getKey());
+        }
+        return new WeightedElements<T>(elements, weights);
+    }
+
+    /** @return a random element, the elements with larger weights are returned more often */
+    @SuppressWarnings("unchecked")
+    public T sample() {
+        return (T) elements[sampleIndex()];
+    }
+    /**
+     * @param nToReturn number of elements to return, the same element can be returned multiple times
+     * @return random elements, the elements with larger weights are returned more often
+     */
+    public List<T> sampleWithReplacement(int nToReturn) {
+        if (nToReturn < 0) throw new IllegalArgumentException("Sample size cannot be negative: " + nToReturn);
+        List<T> result = new ArrayList<T>(nToReturn);
+        for (int i = 0; i < nToReturn; i++) result.add(sample());
+        return result;
+    }
+    /**
+     * Fills the whole array with random elements, so that large samples can be put into reusable arrays.
+     *
+     * @param destination the array to fill
+     * @return the same array
+     */
+    public T[] sampleWithReplacement(T[] destination) {
+        for (int i = 0; i < destination.length; i++) destination[i] = sample();
+        return destination;
+    }
+
+    private int sampleIndex() {
+        int column = CommonsMath4.nextIndex(RANDOM, probabilities.length);
+        return RANDOM.nextDouble() < probabilities[column] ? column : aliases[column];
+    }
+
+    /** @return weights multiplied so that on average they are 1 */
+    private static double[] scale(double[] weights) {
+        double sum = 0;
+        for (double weight : weights) {
+            if (!(weight >= 0) || Double.isInfinite(weight))
+                throw new IllegalArgumentException("Weights must be non-negative finite numbers: " + Arrays.toString(weights));
+            sum += weight;
+        }
+        if (sum == 0) throw new IllegalArgumentException("At least one of the weights must be positive");
+        double[] scaled = new double[weights.length];
+        for (int i = 0; i < weights.length; i++) scaled[i] = weights[i] * weights.length / sum;
+        return scaled;
+    }
+}
@@ -16,6 +16,7 @@
  */
 package io.qala.datagen.adaptors;
 
+import java.util.Arrays;
 import java.util.Random;
 
 /**
@@ -42,6 +43,19 @@ public class CommonsLang3RandomStringUtils {
      */
     private static final Random RANDOM = new DatagenRandom();
 
+    /*
+     * All the characters that pass the letter/digit filters within the default ' '..'z' range. Picking from them
+     * directly gives the same distribution as generating the whole range and rejecting the rest, but without the
+     * wasted draws and the Character lookups.
+     */
+    private static final char[] NUMERIC = "0123456789".toCharArray();
+    private static final char[] ALPHABETIC = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz".toCharArray();
+    private static final char[] ALPHANUMERIC = "0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz".toCharArray();
+    /* Same tables for generating ASCII bytes, which is also valid UTF-8 and ISO-8859-1 */
+    private static final byte[] NUMERIC_BYTES = ascii(NUMERIC);
+    private static final byte[] ALPHABETIC_BYTES = ascii(ALPHABETIC);
+    private static final byte[] ALPHANUMERIC_BYTES = ascii(ALPHANUMERIC);
+
     /**
      * <p>{@code RandomStringUtils} instances should NOT be constructed in
      * standard programming. Instead, the class should be used as
@@ -232,6 +246,9 @@ public class CommonsLang3RandomStringUtils {
         }
 
         if (start == 0 && end == 0) {
+            if (chars == null && (letters || numbers)) {
+                return fromTable(count, letters ? (numbers ? ALPHANUMERIC : ALPHABETIC) : NUMERIC, random);
+            }
             if (chars != null) {
                 end = chars.length;
             } else {
@@ -248,6 +265,10 @@ public class CommonsLang3RandomStringUtils {
             }
         }
 
+        if (chars != null && !letters && !numbers && start == 0 && end == chars.length && !hasSurrogates(chars)) {
+            return fromTable(count, chars, random);
+        }
+
         final char[] buffer = new char[count];
         final int gap = end - start;
 
@@ -292,6 +313,222 @@ public class CommonsLang3RandomStringUtils {
         return new String(buffer);
     }
 
+    /**
+     * <p>Generates the string by picking every character from the table, no character can be rejected.
+     * Small tables (up to 64 chars) need only a few bits per character, so several characters are cut out of
+     * every 64-bit draw.</p>
+     */
+    private static String fromTable(final int count, final char[] table, final Random random) {
+        final char[] buffer = new char[count];
+        fromTable(buffer, 0, count, table, random);
+        return new String(buffer);
+    }
+
+    private static void fromTable(final char[] buffer, final int offset, final int count, final char[] table,
+                                  final Random random) {
+        final int n = table.length;
+        final int end = offset + count;
+        if (n == 1) {
+            Arrays.fill(buffer, offset, end, table[0]);
+        } else if (n <= 64) {
+            fillBitSliced(buffer, offset, end, table, random);
+        } else {
+            for (int i = offset; i < end; i++) {
+                buffer[i] = table[CommonsMath4.nextIndex(random, n)];
+            }
+        }
+    }
+
+    /**
+     * <p>Splits each 64-bit draw into slices of {@code ceil(log2(table.length))} bits and uses them as indices.
+     * If the table size isn't a power of 2, the slices that are out of the table are skipped - this keeps the
+     * distribution uniform, at most half of the slices can be skipped.</p>
+     */
+    private static void fillBitSliced(final char[] buffer, final int offset, final int end, final char[] table,
+                                      final Random random) {
+        final int n = table.length;
+        final int bits = 32 - Integer.numberOfLeadingZeros(n - 1);
+        final long mask = (1L << bits) - 1;
+        final int slicesPerDraw = 64 / bits;
+        int i = offset;
+        while (i < end) {
+            long draw = random.nextLong();
+            for (int slice = 0; slice < slicesPerDraw && i < end; slice++, draw >>>= bits) {
+                final int index = (int) (draw & mask);
+                if (index < n) {
+                    buffer[i++] = table[index];
+                }
+            }
+        }
+    }
+
+    // Filling buffers
+    //-----------------------------------------------------------------------
+    /**
+     * <p>Writes {@code count} random alphanumeric characters into the buffer starting from {@code offset}.
+     * Same as {@link #randomAlphanumeric(int)}, but no {@code String} is created.</p>
+     *
+     * @param buffer  the array to write the characters into
+     * @param offset  the index of the first character to write
+     * @param count  the number of characters to write
+     * @throws IndexOutOfBoundsException if the buffer doesn't have {@code count} elements after {@code offset}
+     */
+    public static void randomAlphanumeric(final char[] buffer, final int offset, final int count) {
+        fill(buffer, offset, count, ALPHANUMERIC);
+    }
+
+    /**
+     * <p>Writes {@code count} random alphabetic characters into the buffer starting from {@code offset}.
+     * Same as {@link #randomAlphabetic(int)}, but no {@code String} is created.</p>
+     *
+     * @param buffer  the array to write the characters into
+     * @param offset  the index of the first character to write
+     * @param count  the number of characters to write
+     * @throws IndexOutOfBoundsException if the buffer doesn't have {@code count} elements after {@code offset}
+     */
+    public static void randomAlphabetic(final char[] buffer, final int offset, final int count) {
+        fill(buffer, offset, count, ALPHABETIC);
+    }
+
+    /**
+     * <p>Writes {@code count} random numeric characters into the buffer starting from {@code offset}.
+     * Same as {@link #randomNumeric(int)}, but no {@code String} is created.</p>
+     *
+     * @param buffer  the array to write the characters into
+     * @param offset  the index of the first character to write
+     * @param count  the number of characters to write
+     * @throws IndexOutOfBoundsException if the buffer doesn't have {@code count} elements after {@code offset}
+     */
+    public static void randomNumeric(final char[] buffer, final int offset, final int count) {
+        fill(buffer, offset, count, NUMERIC);
+    }
+
+    /**
+     * <p>Writes {@code count} random characters from the specified set into the buffer starting from
+     * {@code offset}. Same as {@link #random(int, char...)}.</p>
+     *
+     * @param buffer  the array to write the characters into
+     * @param offset  the index of the first character to write
+     * @param count  the number of characters to write
+     * @param chars  the set of characters to choose randoms from, must not be empty
+     * @throws IndexOutOfBoundsException if the buffer doesn't have {@code count} elements after {@code offset}
+     * @throws IllegalArgumentException if {@code count} &lt; 0 or the chars array is empty.
+     */
+    public static void random(final char[] buffer, final int offset, final int count, final char... chars) {
+        if (chars == null || chars.length == 0) {
+            throw new IllegalArgumentException("The chars array must not be empty");
+        }
+        if (hasSurrogates(chars)) {// surrogates need the pairing logic of random()
+            random(count, chars).getChars(0, count, buffer, offset);
+        } else {
+            fill(buffer, offset, count, chars);
+        }
+    }
+
+    private static void fill(final char[] buffer, final int offset, final int count, final char[] table) {
+        if (count < 0) {
+            throw new IllegalArgumentException("Requested random string length " + count + " is less than 0.");
+        }
+        if (offset < 0 || offset > buffer.length - count) {
+            throw new IndexOutOfBoundsException("Can't write " + count + " chars from index " + offset
+                    + " into an array of length " + buffer.length);
+        }
+        fromTable(buffer, offset, count, table, RANDOM);
+    }
+
+    /**
+     * <p>Writes {@code count} random alphanumeric ASCII characters into the buffer starting from {@code offset}.
+     * ASCII bytes are valid UTF-8 and ISO-8859-1 as well, so nothing needs to be encoded.</p>
+     *
+     * @param buffer  the array to write the bytes into
+     * @param offset  the index of the first byte to write
+     * @param count  the number of bytes to write
+     * @throws IndexOutOfBoundsException if the buffer doesn't have {@code count} elements after {@code offset}
+     */
+    public static void randomAlphanumeric(final byte[] buffer, final int offset, final int count) {
+        fill(buffer, offset, count, ALPHANUMERIC_BYTES);
+    }
+
+    /**
+     * <p>Writes {@code count} random alphabetic ASCII characters into the buffer starting from {@code offset}.</p>
+     *
+     * @param buffer  the array to write the bytes into
+     * @param offset  the index of the first byte to write
+     * @param count  the number of bytes to write
+     * @throws IndexOutOfBoundsException if the buffer doesn't have {@code count} elements after {@code offset}
+     */
+    public static void randomAlphabetic(final byte[] buffer, final int offset, final int count) {
+        fill(buffer, offset, count, ALPHABETIC_BYTES);
+    }
+
+    /**
+     * <p>Writes {@code count} random numeric ASCII characters into the buffer starting from {@code offset}.</p>
+     *
+     * @param buffer  the array to write the bytes into
+     * @param offset  the index of the first byte to write
+     * @param count  the number of bytes to write
+     * @throws IndexOutOfBoundsException if the buffer doesn't have {@code count} elements after {@code offset}
+     */
+    public static void randomNumeric(final byte[] buffer, final int offset, final int count) {
+        fill(buffer, offset, count, NUMERIC_BYTES);
+    }
+
+    private static void fill(final byte[] buffer, final int offset, final int count, final byte[] table) {
+        if (count < 0) {
+            throw new IllegalArgumentException("Requested random string length " + count + " is less than 0.");
+        }
+        if (offset < 0 || offset > buffer.length - count) {
+            throw new IndexOutOfBoundsException("Can't write " + count + " bytes from index " + offset
+                    + " into an array of length " + buffer.length);
+        }
+        final int end = offset + count;
+        if (table.length <= 64) {
+            fillBitSliced(buffer, offset, end, table, RANDOM);
+        } else {
+            for (int i = offset; i < end; i++) {
+                buffer[i] = table[CommonsMath4.nextIndex(RANDOM, table.length)];
+            }
+        }
+    }
+
+    /**
+     * <p>Same as {@link #fillBitSliced(char[], int, int, char[], Random)}, but for bytes.</p>
+     */
+    private static void fillBitSliced(final byte[] buffer, final int offset, final int end, final byte[] table,
+                                      final Random random) {
+        final int n = table.length;
+        final int bits = 32 - Integer.numberOfLeadingZeros(n - 1);
+        final long mask = (1L << bits) - 1;
+        final int slicesPerDraw = 64 / bits;
+        int i = offset;
+        while (i < end) {
+            long draw = random.nextLong();
+            for (int slice = 0; slice < slicesPerDraw && i < end; slice++, draw >>>= bits) {
+                final int index = (int) (draw & mask);
+                if (index < n) {
+                    buffer[i++] = table[index];
+                }
+            }
+        }
+    }
+
+    private static byte[] ascii(final char[] chars) {
+        final byte[] bytes = new byte[chars.length];
+        for (int i = 0; i < chars.length; i++) {
+            bytes[i] = (byte) chars[i];
+        }
+        return bytes;
+    }
+
+    private static boolean hasSurrogates(final char[] chars) {
+        for (final char ch : chars) {
+            if (ch >= 55296 && ch <= 57343) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     /**
      * <p>Creates a random string whose length is the number of characters
      * specified.</p>
@@ -6,11 +6,12 @@ import java.util.Random;
 
 public class CommonsMath4 {
     /**
-     * Mostly copied from Commons Math.
-     * <p>
      * Generates a uniformly distributed random integer between {@code lower}
      * and {@code upper} (endpoints included).
      * <p> The generated integer will be random, but not cryptographically secure. </p>
+     * <p>Uses Lemire's nearly divisionless method: a single 32-bit draw is multiplied by the size of the range and
+     * the high bits are the result, the (rare) biased draws are rejected. There is no division unless a rejection
+     * is possible, and the ranges wider than 2^31 don't need a special treatment.</p>
      *
      * @return a random integer greater than or equal to {@code lower}
      * and less than or equal to {@code upper}
@@ -18,24 +19,15 @@ public class CommonsMath4 {
      *                                      boundaries
      */
     public static int nextInt(Random random, int upper, int lower) {
-        int max = (upper - lower) + 1;
-        if (max <= 0) {
-            // The range is too wide to fit in a positive int (larger
-            // than 2^31); as it covers more than half the integer range,
-            // we use a simple rejection method.
-            while (true) {
-                int r = random.nextInt();
-                if (r >= lower && r <= upper) return r;
-            }
-        } else {
-            // We can shift the range and directly generate a positive int.
-            return lower + random.nextInt(max);
-        }
+        long n = (long) upper - lower + 1;
+        if (n == 1L << 32) return random.nextInt();
+        return lower + (int) nextUnsignedInt(random, n);
     }
 
     /**
      * Generates a uniformly distributed random long integer between {@code lower}
-     * and {@code upper} (endpoints included).
+     * and {@code upper} (endpoints included). Same approach as in {@link #nextInt(Random, int, int)} but if the range
+     * doesn't fit into 32 bits, the 64-bit draw is multiplied by the range as a 128-bit number.
      *
      * @param lower lower bound for generated long integer
      * @param upper upper bound for generated long integer
@@ -45,57 +37,183 @@ public class CommonsMath4 {
     public static long nextLong(Random random, final long lower, final long upper) {
         if(lower == upper) return lower;
         if (lower > upper) throw new IllegalArgumentException();
-        final long max = (upper - lower) + 1;
-        if (max <= 0) {
-            // the range is too wide to fit in a positive long (larger than 2^63); as it covers
-            // more than half the long range, we use directly a simple rejection method
-            while (true) {
-                final long r = random.nextLong();
-                if (r >= lower && r <= upper) {
-                    return r;
-                }
-            }
-        } else if (max < Integer.MAX_VALUE) {
-            // we can shift the range and generate directly a positive int
-            return lower + random.nextInt((int) max);
+        final long n = (upper - lower) + 1;// unsigned, 0 means the whole range of long
+        if (n == 0) return random.nextLong();
+        if (n > 0 && n <= 1L << 32) return lower + nextUnsignedInt(random, n);
+        return lower + nextUnsignedLong(random, n);
+    }
+
+    /**
+     * Same as {@link Random#nextInt(int)}, but without division in most cases - handy for picking random indices in
+     * loops.
+     *
+     * @param bound upper bound (exclusive), must be positive
+     * @return uniformly distributed value from 0 (inclusive) to {@code bound} (exclusive)
+     */
+    public static int nextIndex(Random random, int bound) {
+        return (int) nextUnsignedInt(random, bound);
+    }
+
+    /**
+     * Bulk version of {@link #nextInt(Random, int, int)}: generates exactly the same values as if they were generated
+     * one by one, but the threshold for the rejections is computed once and the state of the thread is looked up
+     * once for the whole array.
+     *
+     * @param from  index of the first element to fill (inclusive)
+     * @param to    index of the last element to fill (exclusive)
+     * @param lower inclusive
+     * @param upper inclusive
+     */
+    public static void fill(DatagenRandom random, int[] array, int from, int to, int lower, int upper) {
+        RandomSource source = random.source();
+        long n = (long) upper - lower + 1;
+        if (n == 1L << 32) {
+            for (int i = from; i < to; i++) array[i] = source.next(32);
+            return;
+        }
+        long threshold = ((1L << 32) - n) % n;
+        for (int i = from; i < to; i++) array[i] = lower + (int) nextUnsignedInt(source, n, threshold);
+    }
+    /**
+     * Bulk version of {@link #nextLong(Random, long, long)}, see {@link #fill(DatagenRandom, int[], int, int, int, int)}.
+     */
+    public static void fill(DatagenRandom random, long[] array, int from, int to, long lower, long upper) {
+        if (lower > upper) throw new IllegalArgumentException();
+        RandomSource source = random.source();
+        final long n = (upper - lower) + 1;// unsigned, 0 means the whole range of long
+        if (lower == upper) {
+            for (int i = from; i < to; i++) array[i] = lower;
+        } else if (n == 0) {
+            for (int i = from; i < to; i++) array[i] = source.nextLong();
+        } else if (n > 0 && n <= 1L << 32) {
+            long threshold = ((1L << 32) - n) % n;
+            for (int i = from; i < to; i++) array[i] = lower + nextUnsignedInt(source, n, threshold);
         } else {
-            // we can shift the range and generate directly a positive long
-            return lower + nextLong(random, max);
+            long threshold = twoPower64Remainder(n);
+            for (int i = from; i < to; i++) {
+                long x = source.nextLong();
+                while (unsignedLess(x * n, threshold)) x = source.nextLong();
+                array[i] = lower + multiplyHighUnsigned(x, n);
+            }
+        }
+    }
+    /**
+     * Bulk version of {@link #nextUniform(DatagenRandom, double, double, boolean)} with inclusive lower bound, the
+     * values are the same as if they were generated one by one.
+     */
+    public static void fill(DatagenRandom random, double[] array, int from, int to, double lower, double upper) {
+        validateUniformBounds(lower, upper);
+        RandomSource source = random.source();
+        for (int i = from; i < to; i++) {
+            double u = (((long) source.next(26) << 26) | source.next(26)) * 0x1.0p-52d;
+            array[i] = u * upper + (1.0 - u) * lower;
+        }
+    }
+    /** Uniformly distributed floats from {@code lower} (inclusive) to {@code upper} (exclusive). */
+    public static void fill(DatagenRandom random, float[] array, int from, int to, float lower, float upper) {
+        validateUniformBounds(lower, upper);
+        RandomSource source = random.source();
+        for (int i = from; i < to; i++) {
+            float u = source.next(24) * 0x1.0p-24f;
+            array[i] = u * upper + (1.0f - u) * lower;
+        }
+    }
+    /** Takes 64 booleans from each 64-bit draw. */
+    public static void fill(DatagenRandom random, boolean[] array, int from, int to) {
+        RandomSource source = random.source();
+        for (int i = from; i < to; ) {
+            long bits = source.nextLong();
+            for (int end = Math.min(to, i + 64); i < end; i++, bits >>>= 1) array[i] = (bits & 1) != 0;
+        }
+    }
+    /** Takes 8 bytes from each 64-bit draw. */
+    public static void fill(DatagenRandom random, byte[] array, int from, int to) {
+        RandomSource source = random.source();
+        for (int i = from; i < to; ) {
+            long bits = source.nextLong();
+            for (int end = Math.min(to, i + 8); i < end; i++, bits >>>= 8) array[i] = (byte) bits;
         }
     }
 
     /**
-     * Returns a pseudorandom, uniformly distributed {@code long} value
-     * between 0 (inclusive) and the specified value (exclusive), drawn from
-     * this random number generator's sequence.
-     *
-     * @param rng random generator to use
-     * @param n   the bound on the random number to be returned.  Must be
-     *            positive.
-     * @return a pseudorandom, uniformly distributed {@code long}
-     * value between 0 (inclusive) and n (exclusive).
-     * @throws IllegalArgumentException if n is not positive.
+     * Same as {@link #nextUnsignedInt(Random, long)} with the threshold computed beforehand, it doesn't change the
+     * values since the threshold is less than {@code n}.
      */
-    private static long nextLong(final Random rng, final long n) throws IllegalArgumentException {
-        if (n > 0) {
-            final byte[] byteArray = new byte[8];
-            long bits;
-            long val;
-            do {
-                rng.nextBytes(byteArray);
-                bits = 0;
-                for (final byte b : byteArray) {
-                    bits = (bits << 8) | (((long) b) & 0xffL);
-                }
-                bits &= 0x7fffffffffffffffL;
-                val = bits % n;
-            } while (bits - val + (n - 1) < 0);
-            return val;
+    private static long nextUnsignedInt(RandomSource source, long n, long threshold) {
+        long m = (source.next(32) & 0xffffffffL) * n;
+        while ((m & 0xffffffffL) < threshold) m = (source.next(32) & 0xffffffffL) * n;
+        return m >>> 32;
+    }
+
+    /**
+     * @param n the bound, from 1 to 2^32
+     * @return uniformly distributed value from 0 (inclusive) to {@code n} (exclusive)
+     */
+    private static long nextUnsignedInt(Random random, long n) {
+        long m = (random.nextInt() & 0xffffffffL) * n;
+        long low = m & 0xffffffffL;
+        if (low < n) {
+            long threshold = ((1L << 32) - n) % n;
+            while (low < threshold) {
+                m = (random.nextInt() & 0xffffffffL) * n;
+                low = m & 0xffffffffL;
+            }
+        }
+        return m >>> 32;
+    }
+
+    /**
+     * @param n the bound treated as unsigned, can't be 0
+     * @return uniformly distributed value from 0 (inclusive) to {@code n} (exclusive), treated as unsigned
+     */
+    private static long nextUnsignedLong(Random random, long n) {
+        long x = random.nextLong();
+        long low = x * n;
+        if (unsignedLess(low, n)) {
+            long threshold = twoPower64Remainder(n);
+            while (unsignedLess(low, threshold)) {
+                x = random.nextLong();
+                low = x * n;
+            }
         }
-        throw new IllegalStateException("Not strictly positive" + n);
+        return multiplyHighUnsigned(x, n);
+    }
+
+    private static boolean unsignedLess(long a, long b) {
+        return a + Long.MIN_VALUE < b + Long.MIN_VALUE;
+    }
+
+    /** @return {@code 2^64 mod n} where {@code n} is unsigned and not 0 */
+    private static long twoPower64Remainder(long n) {
+        if (n < 0) return -n;// n > 2^63, so 2^64 - n is smaller than n
+        long r = (Long.MAX_VALUE % n + 1) % n;// 2^63 mod n
+        r <<= 1;
+        if (r < 0 || r >= n) r -= n;
+        return r;
+    }
+
+    /** @return high 64 bits of the 128-bit product of the unsigned numbers */
+    private static long multiplyHighUnsigned(long x, long y) {
+        long x0 = x & 0xffffffffL, x1 = x >>> 32;
+        long y0 = y & 0xffffffffL, y1 = y >>> 32;
+        long p01 = x0 * y1, p10 = x1 * y0;
+        long middle = ((x0 * y0) >>> 32) + (p01 & 0xffffffffL) + (p10 & 0xffffffffL);
+        return x1 * y1 + (p01 >>> 32) + (p10 >>> 32) + (middle >>> 32);
     }
 
     public static double nextUniform(DatagenRandom random, double lower, double upper, boolean lowerInclusive) throws IllegalArgumentException {
+        validateUniformBounds(lower, upper);
+
+        // ensure nextDouble() isn't 0.0
+        double u = nextDouble(random);
+        while (!lowerInclusive && u <= 0.0) {
+            u = nextDouble(random);
+        }
+
+        return u * upper + (1.0 - u) * lower;
+    }
+
+    private static void validateUniformBounds(double lower, double upper) {
         if (lower >= upper) {
             throw new IllegalArgumentException("lower bound " + lower + " must be strictly less than upper bound " + upper);
         }
@@ -110,14 +228,6 @@ public class CommonsMath4 {
         if (Double.isNaN(lower) || Double.isNaN(upper)) {
             throw new IllegalArgumentException("Not-a-number was specified");
         }
-
-        // ensure nextDouble() isn't 0.0
-        double u = nextDouble(random);
-        while (!lowerInclusive && u <= 0.0) {
-            u = nextDouble(random);
-        }
-
-        return u * upper + (1.0 - u) * lower;
     }
 
     private static double nextDouble(DatagenRandom random) {
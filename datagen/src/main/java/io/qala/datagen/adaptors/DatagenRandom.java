@@ -1,32 +1,274 @@
 package io.qala.datagen.adaptors;
 
 import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
 
+/**
+ * {@link Random} that keeps its state per thread so that tests running in parallel get reproducible values and
+ * don't contend over the same seed. The state lives in a mutable holder, so generating numbers doesn't box anything
+ * and doesn't touch the shared state of {@link Random} (we never call {@link Random#setSeed(long)} after construction).
+ * <p>
+ * The bits come from a {@link RandomEngine} which can be chosen for all threads with
+ * {@code -D}{@value RandomEngines#ENGINE_PROPERTY} or {@link #setDefaultEngine(RandomEngine)}, and for the current
+ * thread with {@link #overrideSeed(long, RandomEngine)}.
+ * <p>
+ * The state of a thread is created only when it generates something outside of {@link #enter(long, RandomEngine)}.
+ * So when there are lots of short-lived threads (like virtual threads), tasks that are wrapped by
+ * {@code io.qala.datagen.SeedContext} neither allocate the initial state nor leave it in the thread, and their
+ * values are derived from the seed of the parent instead of the time.
+ */
 @SuppressWarnings("AnonymousHasLambdaAlternative"/*this is compiled for Java5*/)
 public class DatagenRandom extends Random {
     //Public Morozov. Need this to be available for classes in this package.
     @Override public int next(int bits) {
-        long oldseed = getCurrentSeed(), nextseed;
+        return drawingState().source.next(bits);
+    }
+    @Override public long nextLong() {
+        return drawingState().source.nextLong();
+    }
+    @Override public double nextDouble() {
+        return drawingState().source.nextDouble();
+    }
+
+    /** Bulk generators take the state of the current thread once instead of looking it up for each value. */
+    RandomSource source() {
+        return drawingState().source;
+    }
+
+    /**
+     * Same algorithm as {@link Random#nextGaussian()}, but the spare value is kept per thread instead of in the
+     * (synchronized) fields of the shared instance.
+     */
+    @Override public double nextGaussian() {
+        ThreadState state = drawingState();
+        if (state.haveNextNextGaussian) {
+            state.haveNextNextGaussian = false;
+            return state.nextNextGaussian;
+        }
+        double v1, v2, s;
         do {
-            nextseed = (oldseed * multiplier + addend) & mask;
-        } while (oldseed == nextseed);
+            v1 = 2 * state.source.nextDouble() - 1; // between -1 and 1
+            v2 = 2 * state.source.nextDouble() - 1; // between -1 and 1
+            s = v1 * v1 + v2 * v2;
+        } while (s >= 1 || s == 0);
+        double multiplier = StrictMath.sqrt(-2 * StrictMath.log(s) / s);
+        state.nextNextGaussian = v2 * multiplier;
+        state.haveNextNextGaussian = true;
+        return v1 * multiplier;
+    }
+
+    /**
+     * Re-seeds the current thread keeping its current engine.
+     *
+     * @param seed the seed previously returned by {@link #getCurrentSeed()} or any other number
+     */
+    @SuppressWarnings("WeakerAccess")
+    public static void overrideSeed(long seed) {
+        ThreadState state = state();
+        state.source.setSeed(seed);
+        state.rootSeed = seed;
+        state.seeded(seed);
+        state.haveNextNextGaussian = false;
+    }
+    /**
+     * Re-seeds the current thread and switches it to the specified engine.
+     *
+     * @param seed   the seed previously returned by {@link #getCurrentSeed()} or any other number
+     * @param engine the engine to generate values in the current thread from now on
+     */
+    @SuppressWarnings("WeakerAccess")
+    public static void overrideSeed(long seed, RandomEngine engine) {
+        ThreadState state = state();
+        if (state.engine == engine) {
+            state.source.setSeed(seed);
+        } else {
+            state.engine = engine;
+            state.source = engine.seeded(seed);
+        }
+        state.rootSeed = seed;
+        state.seeded(seed);
+        state.haveNextNextGaussian = false;
+    }
+    /**
+     * Skips the values that the current thread would generate in the next {@code steps} steps, the result is the same
+     * as if they were generated and thrown away. Takes O(log(steps)) for {@link RandomEngine.Standard#LCG48} and O(1)
+     * for {@link RandomEngine.Standard#SPLITMIX64}.
+     *
+     * @param steps number of steps of the engine, see {@link RandomSource#jump(long)}
+     * @throws UnsupportedOperationException if the engine of the current thread can't jump
+     */
+    @SuppressWarnings("WeakerAccess")
+    public static void jump(long steps) {
+        ThreadState state = drawingState();
+        state.source.jump(steps);
+        state.haveNextNextGaussian = false;
+    }
+    /**
+     * Partitions the sequence that the current thread is about to generate into consecutive sub-sequences that don't
+     * overlap, e.g. to process parts of a recorded run by parallel workers. Each worker passes its seed to
+     * {@link #overrideSeed(long, RandomEngine)} and generates exactly the same values as the current thread would
+     * generate sequentially - as long as it doesn't make more than {@code stepsPerPart} steps. The current thread
+     * moves to the end of the last part.
+     *
+     * @param parts        number of sub-sequences
+     * @param stepsPerPart length of each of them in the steps of the engine, see {@link RandomSource#jump(long)}
+     * @return seeds of the beginnings of the sub-sequences
+     * @throws UnsupportedOperationException if the engine of the current thread can't jump
+     */
+    @SuppressWarnings("WeakerAccess")
+    public static long[] split(int parts, long stepsPerPart) {
+        if (parts < 0) throw new IllegalArgumentException("Number of parts cannot be negative: " + parts);
+        ThreadState state = drawingState();
+        state.source.jump(0);// fails before the seeds are taken if the engine can't jump
+        long[] seeds = new long[parts];
+        for (int i = 0; i < parts; i++) {
+            seeds[i] = state.source.checkpoint();
+            state.source.jump(stepsPerPart);
+        }
+        state.haveNextNextGaussian = false;
+        return seeds;
+    }
+    /**
+     * Counter-based seeding: the seed of an element of a dataset is a hash of the dataset's seed and the element's
+     * index, so any element can be re-generated in O(1) by passing this seed to {@link #overrideSeed(long)} -
+     * without generating the elements before it. Different JVMs or threads can generate different parts of the same
+     * dataset and get exactly the same values as if it was generated by one thread.
+     *
+     * @param datasetSeed seed of the whole dataset
+     * @param index       index of the element in the dataset
+     * @return seed of the element
+     */
+    @SuppressWarnings("WeakerAccess")
+    public static long elementSeed(long datasetSeed, long index) {
+        return RandomSource.mixStafford13(RandomSource.mixStafford13(datasetSeed) + (index + 1) * RandomSource.GOLDEN_RATIO_64);
+    }
+    /**
+     * Returns the seed which can be passed to {@link #overrideSeed(long, RandomEngine)} together with
+     * {@link #getCurrentEngine()} to generate the same values that the current thread is about to generate.
+     * Note, that engines with state larger than a long are re-keyed by this call - unless nothing was generated since
+     * the thread was (re-)seeded or since the previous call, then the same seed is returned. So a seed passed to
+     * {@link #overrideSeed(long, RandomEngine)} is reported back as is and replaying it gives the same values.
+     *
+     * @return the seed that reproduces the values from the current position
+     */
+    @SuppressWarnings("WeakerAccess")
+    public static long getCurrentSeed() {
+        ThreadState state = state();
+        if (!state.atCheckpoint) state.seeded(state.source.checkpoint());
+        return state.checkpoint;
+    }
+    /**
+     * Unlike {@link #getCurrentSeed()} it doesn't depend on how many values were generated: it's the seed that the
+     * current thread was started or last re-seeded with, so the seeds derived from it don't shift when the test
+     * generates more or fewer values.
+     *
+     * @return the last seed passed to {@code overrideSeed()} in the current thread or the initial one
+     */
+    @SuppressWarnings("WeakerAccess")
+    public static long getRootSeed()           { return state().rootSeed;}
+    /** @return the engine used by the current thread */
+    @SuppressWarnings("WeakerAccess")
+    public static RandomEngine getCurrentEngine() { return state().engine;}
 
-        super.setSeed(nextseed);
-        overrideSeed(nextseed);
-        return (int)(nextseed >>> (48 - bits));
+    /**
+     * Temporarily replaces the whole random state of the current thread: until {@link Scope#close()} the thread
+     * generates values from the specified seed, then it continues its own sequence exactly where it stopped.
+     * Must be closed in the same thread, usually in {@code finally}.
+     *
+     * @param seed   seed of the values generated within the scope
+     * @param engine engine of the values generated within the scope
+     * @return the scope to close after generating the values
+     */
+    @SuppressWarnings("WeakerAccess")
+    public static Scope enter(long seed, RandomEngine engine) {
+        ThreadState previous = STATE.get();// null if the thread hasn't generated anything yet, it won't need the state
+        STATE.set(new ThreadState(engine, seed));
+        return new Scope(previous);
     }
 
+    /**
+     * Restores the random state of the thread that was there before {@link #enter(long, RandomEngine)}. If there was
+     * none, the state is removed: short-lived (e.g. virtual) threads that generate values only within scopes don't
+     * leave anything in their thread locals.
+     */
+    public static final class Scope {
+        private final ThreadState previous;
+
+        private Scope(ThreadState previous) {
+            this.previous = previous;
+        }
+        public void close() {
+            if (previous == null) STATE.remove();
+            else STATE.set(previous);
+        }
+    }
+
+    /** @return the engine that the threads start with */
     @SuppressWarnings("WeakerAccess")
-    public static void overrideSeed(long seed) { SEEDS.set(seed)   ;}
+    public static RandomEngine getDefaultEngine() {
+        return defaultEngine;
+    }
+    /**
+     * Sets the engine for the threads that haven't generated anything yet and for the current thread. The current
+     * thread is re-seeded from its current sequence.
+     *
+     * @param engine the engine the threads are to start with
+     */
     @SuppressWarnings("WeakerAccess")
-    public static long getCurrentSeed()        { return SEEDS.get();}
+    public static void setDefaultEngine(RandomEngine engine) {
+        if (engine == null) throw new IllegalArgumentException("Random engine cannot be null");
+        defaultEngine = engine;
+        overrideSeed(state().source.nextLong(), engine);
+    }
+
+    private static volatile RandomEngine defaultEngine = RandomEngines.fromSystemProperty();
+    /** Is filled lazily by {@link #state()}, so that {@link #enter(long, RandomEngine)} can tell it was empty. */
+    private static final ThreadLocal<ThreadState> STATE = new ThreadLocal<ThreadState>();
+    /**
+     * Threads created within the same tick of {@link System#nanoTime()} (which is easy with virtual threads) would
+     * start with the same seeds, so the time is combined with a global sequence.
+     */
+    private static final AtomicLong INITIAL_SEEDS = new AtomicLong(System.nanoTime());
+
+    /** Marks that the source moves from the position of the last seed, so the seed doesn't reproduce it anymore. */
+    private static ThreadState drawingState() {
+        ThreadState state = state();
+        state.atCheckpoint = false;
+        return state;
+    }
+    private static ThreadState state() {
+        ThreadState state = STATE.get();
+        if (state == null) {
+            long seed = RandomSource.mixStafford13(INITIAL_SEEDS.addAndGet(RandomSource.GOLDEN_RATIO_64) ^ System.nanoTime());
+            state = new ThreadState(defaultEngine, seed);
+            STATE.set(state);
+        }
+        return state;
+    }
+    /** Doesn't create the state, unlike the rest of the methods, so that tests can check it was cleaned up. */
+    static boolean hasState() {
+        return STATE.get() != null;
+    }
+
+    private static final class ThreadState {
+        private RandomEngine engine;
+        private RandomSource source;
+        private long rootSeed;
+        /** While nothing is drawn after seeding, this seed reproduces the source without re-keying it. */
+        private long checkpoint;
+        private boolean atCheckpoint;
+        private double nextNextGaussian;
+        private boolean haveNextNextGaussian;
 
-    private static final long multiplier = 0x5DEECE66DL;
-    private static final long addend = 0xBL;
-    private static final long mask = (1L << 48) - 1;
-    private static final ThreadLocal<Long> SEEDS = new ThreadLocal<Long>() {
-        @Override protected Long initialValue() {
-            return System.nanoTime();
+        private ThreadState(RandomEngine engine, long seed) {
+            this.engine = engine;
+            this.source = engine.seeded(seed);
+            this.rootSeed = seed;
+            seeded(seed);
         }
-    };
+        private void seeded(long seed) {
+            checkpoint = seed;
+            atCheckpoint = true;
+        }
+    }
 }
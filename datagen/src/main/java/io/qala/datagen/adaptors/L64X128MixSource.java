@@ -0,0 +1,49 @@
+package io.qala.datagen.adaptors;
+
+/**
+ * LXM generator combining a 64-bit LCG with xoroshiro128 through the lea64 mixer. Same algorithm and seeding as
+ * {@code L64X128MixRandom} of JDK 17, but doesn't need JDK 17 to run.
+ */
+final class L64X128MixSource extends RandomSource {
+    private static final long M = 0xd1342543de82ef95L;
+    private long a, s, x0, x1;
+
+    L64X128MixSource(long seed) {
+        setSeed(seed);
+    }
+
+    @Override public void setSeed(long seed) {
+        seed ^= SILVER_RATIO_64;
+        a = mixMurmur64(seed) | 1;
+        s = 1;
+        x0 = mixStafford13(seed);
+        x1 = mixStafford13(seed + GOLDEN_RATIO_64);
+        if ((x0 | x1) == 0) {
+            x0 = GOLDEN_RATIO_64;
+            x1 = SILVER_RATIO_64;
+        }
+    }
+    @Override public long nextLong() {
+        long result = mixLea64(s + x0);
+        s = M * s + a;
+        long q0 = x0, q1 = x1;
+        q1 ^= q0;
+        q0 = Long.rotateLeft(q0, 24);
+        q0 = q0 ^ q1 ^ (q1 << 16);
+        q1 = Long.rotateLeft(q1, 37);
+        x0 = q0;
+        x1 = q1;
+        return result;
+    }
+
+    private static long mixLea64(long z) {
+        z = (z ^ (z >>> 32)) * 0xdaba0b6eb09322e3L;
+        z = (z ^ (z >>> 32)) * 0xdaba0b6eb09322e3L;
+        return z ^ (z >>> 32);
+    }
+    private static long mixMurmur64(long z) {
+        z = (z ^ (z >>> 33)) * 0xff51afd7ed558ccdL;
+        z = (z ^ (z >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        return z ^ (z >>> 33);
+    }
+}
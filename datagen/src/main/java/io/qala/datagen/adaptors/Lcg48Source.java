@@ -0,0 +1,39 @@
+package io.qala.datagen.adaptors;
+
+/**
+ * The 48-bit LCG of {@link java.util.Random}, the state is the seed itself. Was the only engine in Datagen for a long
+ * time, so it stays the default: the raw numbers of a seed are the same as before, though the values that are
+ * derived from them (bounded numbers, strings) changed in 3.0.0 - see CHANGELOG. Can jump ahead in O(log n).
+ */
+final class Lcg48Source extends RandomSource {
+    private static final long MULTIPLIER = 0x5DEECE66DL;
+    private static final long ADDEND = 0xBL;
+    private static final long MASK = (1L << 48) - 1;
+    private long seed;
+
+    Lcg48Source(long seed) {
+        setSeed(seed);
+    }
+
+    @Override public void setSeed(long seed) {
+        this.seed = seed;
+    }
+    @Override public int next(int bits) {
+        long nextseed = (seed * MULTIPLIER + ADDEND) & MASK;
+        seed = nextseed;
+        return (int) (nextseed >>> (48 - bits));
+    }
+    @Override public long nextLong() {
+        return ((long) next(32) << 32) + next(32);
+    }
+    @Override public double nextDouble() {
+        return (((long) next(26) << 27) + next(27)) * 0x1.0p-53;
+    }
+    /** A step is a single {@link #next(int)}. */
+    @Override public void jump(long steps) {
+        seed = jumpLcg(seed, MULTIPLIER, ADDEND, steps) & MASK;
+    }
+    @Override public long checkpoint() {
+        return seed;
+    }
+}
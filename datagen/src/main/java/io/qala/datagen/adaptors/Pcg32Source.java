@@ -0,0 +1,36 @@
+package io.qala.datagen.adaptors;
+
+/**
+ * PCG-XSH-RR 64/32 by Melissa O'Neill, seeded like {@code pcg32_srandom(seed, stream)} where the stream is derived
+ * from the seed. Produces 32 bits per step, so longs take 2 steps.
+ */
+final class Pcg32Source extends RandomSource {
+    private static final long MULTIPLIER = 6364136223846793005L;
+    private long state;
+    private long increment;
+
+    Pcg32Source(long seed) {
+        setSeed(seed);
+    }
+
+    @Override public void setSeed(long seed) {
+        state = 0;
+        increment = (mixStafford13(seed) << 1) | 1;
+        nextInt();
+        state += seed;
+        nextInt();
+    }
+    @Override public int next(int bits) {
+        return nextInt() >>> (32 - bits);
+    }
+    @Override public long nextLong() {
+        return ((long) nextInt() << 32) | (nextInt() & 0xffffffffL);
+    }
+
+    private int nextInt() {
+        long old = state;
+        state = old * MULTIPLIER + increment;
+        int xorShifted = (int) (((old >>> 18) ^ old) >>> 27);
+        return Integer.rotateRight(xorShifted, (int) (old >>> 59));
+    }
+}
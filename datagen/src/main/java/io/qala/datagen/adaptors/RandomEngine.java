@@ -0,0 +1,44 @@
+package io.qala.datagen.adaptors;
+
+/**
+ * Algorithm that {@link DatagenRandom} uses to generate random bits. Besides the {@link Standard} engines you can
+ * plug in your own: implement the interface and register it in
+ * {@code META-INF/services/io.qala.datagen.adaptors.RandomEngine}, then it can be referenced by its {@link #name()}
+ * just like the standard ones.
+ *
+ * @see RandomEngines
+ */
+public interface RandomEngine {
+    /**
+     * @return the name that identifies the engine in {@code @Seed(engine = "")}, in
+     * {@code -Ddatagen.random.engine} and in the logged seeds
+     */
+    String name();
+
+    /**
+     * @param seed any long, the same seed must result in the same sequence of values
+     * @return new state of the engine that isn't shared with anyone else
+     */
+    RandomSource seeded(long seed);
+
+    enum Standard implements RandomEngine {
+        /** The LCG of {@link java.util.Random}, the default - slow and statistically weak, but keeps the old seeds. */
+        LCG48 {
+            @Override public RandomSource seeded(long seed) { return new Lcg48Source(seed); }
+        },
+        /** Same algorithm as in {@code java.util.SplittableRandom}. */
+        SPLITMIX64 {
+            @Override public RandomSource seeded(long seed) { return new SplitMix64Source(seed); }
+        },
+        XOSHIRO256_STAR_STAR {
+            @Override public RandomSource seeded(long seed) { return new Xoshiro256StarStarSource(seed); }
+        },
+        PCG32 {
+            @Override public RandomSource seeded(long seed) { return new Pcg32Source(seed); }
+        },
+        /** Same algorithm as {@code L64X128MixRandom} in JDK 17. */
+        L64X128_MIX {
+            @Override public RandomSource seeded(long seed) { return new L64X128MixSource(seed); }
+        }
+    }
+}
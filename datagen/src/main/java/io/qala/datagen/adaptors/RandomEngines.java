@@ -0,0 +1,45 @@
+package io.qala.datagen.adaptors;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.ServiceLoader;
+
+/**
+ * Looks up {@link RandomEngine}s by their names - first among the {@link RandomEngine.Standard} ones, then among
+ * those registered via {@link ServiceLoader}.
+ */
+@SuppressWarnings("WeakerAccess")
+public class RandomEngines {
+    /**
+     * System property that sets the engine for all the threads, if not specified {@link RandomEngine.Standard#LCG48}
+     * is used.
+     */
+    public static final String ENGINE_PROPERTY = "datagen.random.engine";
+
+    private RandomEngines() {}
+
+    /**
+     * @param name case-insensitive name of the engine
+     * @return the engine with the specified name
+     * @throws IllegalArgumentException if there is no such engine
+     */
+    public static RandomEngine forName(String name) {
+        for (RandomEngine engine : RandomEngine.Standard.values()) {
+            if (engine.name().equalsIgnoreCase(name)) return engine;
+        }
+        List<String> known = new ArrayList<String>();
+        for (RandomEngine engine : ServiceLoader.load(RandomEngine.class)) {
+            if (engine.name().equalsIgnoreCase(name)) return engine;
+            known.add(engine.name());
+        }
+        for (RandomEngine engine : RandomEngine.Standard.values()) known.add(engine.name());
+        throw new IllegalArgumentException("Unknown random engine [" + name + "], available engines: " + known);
+    }
+
+    /** @return the engine set in {@link #ENGINE_PROPERTY} or {@link RandomEngine.Standard#LCG48} if it's not set */
+    static RandomEngine fromSystemProperty() {
+        String name = System.getProperty(ENGINE_PROPERTY);
+        if (name == null || name.trim().length() == 0) return RandomEngine.Standard.LCG48;
+        return forName(name.trim());
+    }
+}
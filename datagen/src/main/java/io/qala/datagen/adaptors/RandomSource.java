@@ -0,0 +1,89 @@
+package io.qala.datagen.adaptors;
+
+/**
+ * Mutable state of a {@link RandomEngine}. {@link DatagenRandom} keeps a separate instance per thread, so the
+ * implementations don't have to be thread-safe.
+ */
+public abstract class RandomSource {
+    /**
+     * Resets the state so that the source generates the same sequence every time it's given the same seed.
+     *
+     * @param seed any long value, including 0
+     */
+    public abstract void setSeed(long seed);
+
+    /** @return next 64 uniformly distributed random bits */
+    public abstract long nextLong();
+
+    /**
+     * Same contract as {@link java.util.Random#next(int)}.
+     *
+     * @param bits number of random bits to return, from 1 to 32
+     * @return int whose lowest {@code bits} bits are random
+     */
+    public int next(int bits) {
+        return (int) (nextLong() >>> (64 - bits));
+    }
+
+    /** @return uniformly distributed double from 0 (inclusive) to 1 (exclusive) */
+    public double nextDouble() {
+        return (nextLong() >>> 11) * 0x1.0p-53;
+    }
+
+    /**
+     * Returns a seed that, if passed to {@link #setSeed(long)}, makes the source continue from the current position.
+     * Most engines have more state than fits into a long, so by default the source is re-keyed with a seed drawn from
+     * itself. Engines whose whole state is a long can return the state as is. Note, that re-keying makes the call
+     * non-idempotent, {@link DatagenRandom#getCurrentSeed()} takes care of returning the same seed until something is
+     * generated.
+     *
+     * @return the seed that reproduces the values this source is going to generate next
+     */
+    public long checkpoint() {
+        long seed = nextLong();
+        setSeed(seed);
+        return seed;
+    }
+
+    /**
+     * Moves the state forward as if the specified number of steps were made, without generating the values. What a
+     * step is depends on the engine: e.g. for the 48-bit LCG it's a single {@link #next(int)} while longs and doubles
+     * take 2 steps.
+     *
+     * @param steps number of steps to skip, treated as unsigned - so negative numbers move the state backwards if the
+     *              period of the engine is a power of 2
+     * @throws UnsupportedOperationException if the engine can't jump
+     */
+    public void jump(long steps) {
+        throw new UnsupportedOperationException(getClass().getSimpleName() + " can't jump ahead");
+    }
+
+    /**
+     * Computes the state of the LCG {@code state * multiplier + increment} after {@code steps} steps in O(log(steps))
+     * by composing the affine transformation with itself (F. Brown, "Random Number Generation with Arbitrary Strides").
+     *
+     * @return the new state modulo 2^64, LCGs with smaller modulus need to mask it
+     */
+    static long jumpLcg(long state, long multiplier, long increment, long steps) {
+        long accumulatedMultiplier = 1, accumulatedIncrement = 0;
+        for (long n = steps; n != 0; n >>>= 1) {
+            if ((n & 1) != 0) {
+                accumulatedMultiplier *= multiplier;
+                accumulatedIncrement = accumulatedIncrement * multiplier + increment;
+            }
+            increment = (multiplier + 1) * increment;
+            multiplier *= multiplier;
+        }
+        return accumulatedMultiplier * state + accumulatedIncrement;
+    }
+
+    /** SplitMix64 step, is used by engines to expand a single long seed into their larger state. */
+    static long mixStafford13(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+
+    static final long GOLDEN_RATIO_64 = 0x9e3779b97f4a7c15L;
+    static final long SILVER_RATIO_64 = 0x6a09e667f3bcc909L;
+}
@@ -0,0 +1,27 @@
+package io.qala.datagen.adaptors;
+
+/**
+ * SplitMix64 - the algorithm behind {@code java.util.SplittableRandom}, for the same seed it generates the same
+ * sequence of longs. The fastest of the engines, the state is a single counter.
+ */
+final class SplitMix64Source extends RandomSource {
+    private long seed;
+
+    SplitMix64Source(long seed) {
+        setSeed(seed);
+    }
+
+    @Override public void setSeed(long seed) {
+        this.seed = seed;
+    }
+    @Override public long nextLong() {
+        return mixStafford13(seed += GOLDEN_RATIO_64);
+    }
+    /** A step is a single long, so jumping is just moving the counter. */
+    @Override public void jump(long steps) {
+        seed += steps * GOLDEN_RATIO_64;
+    }
+    @Override public long checkpoint() {
+        return seed;
+    }
+}
@@ -0,0 +1,31 @@
+package io.qala.datagen.adaptors;
+
+/**
+ * xoshiro256** by David Blackman and Sebastiano Vigna, 256 bits of state are filled from the seed with SplitMix64
+ * as recommended by the authors.
+ */
+final class Xoshiro256StarStarSource extends RandomSource {
+    private long s0, s1, s2, s3;
+
+    Xoshiro256StarStarSource(long seed) {
+        setSeed(seed);
+    }
+
+    @Override public void setSeed(long seed) {
+        s0 = mixStafford13(seed += GOLDEN_RATIO_64);
+        s1 = mixStafford13(seed += GOLDEN_RATIO_64);
+        s2 = mixStafford13(seed += GOLDEN_RATIO_64);
+        s3 = mixStafford13(seed + GOLDEN_RATIO_64);
+    }
+    @Override public long nextLong() {
+        long result = Long.rotateLeft(s1 * 5, 7) * 9;
+        long t = s1 << 17;
+        s2 ^= s0;
+        s3 ^= s1;
+        s1 ^= s2;
+        s0 ^= s3;
+        s2 ^= t;
+        s3 = Long.rotateLeft(s3, 45);
+        return result;
+    }
+}
@@ -0,0 +1,75 @@
+package io.qala.datagen;
+
+import io.qala.datagen.adaptors.DatagenRandom;
+import io.qala.datagen.adaptors.RandomEngine;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.*;
+
+import static io.qala.datagen.RandomShortApi.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Dataset")
+class DatasetTest {
+    private static final Dataset.Element<String> ROW = index -> alphanumeric(1, 20) + integer(100) + Long();
+
+    @Test void elementDoesNotDependOnOrderOfGeneration() {
+        Dataset<String> dataset = Dataset.of(Long(), ROW);
+        String last = dataset.get(50_000_000);
+        List<String> first = dataset.get(0, 100);
+
+        assertEquals(last, dataset.get(50_000_000));
+        for (int i = 99; i >= 0; i--) assertEquals(first.get(i), dataset.get(i));
+        assertEquals(100, new HashSet<>(first).size());
+    }
+    @Test void sameSeedGivesSameDataset_differentSeedsGiveDifferent() {
+        long seed = Long();
+        assertEquals(Dataset.of(seed, ROW).get(0, 10), Dataset.of(seed, ROW).get(0, 10));
+        assertNotEquals(Dataset.of(seed, ROW).get(0, 10), Dataset.of(seed + 1, ROW).get(0, 10));
+    }
+    @Test void shardsGeneratedInParallel_areTheSameAsGeneratedSequentially() throws Exception {
+        final Dataset<String> dataset = Dataset.of(Long(), RandomEngine.Standard.XOSHIRO256_STAR_STAR, ROW);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<List<String>>> shards = new ArrayList<>();
+            for (int shard = 0; shard < 8; shard++) {
+                final int from = shard * 125;
+                shards.add(executor.submit(() -> dataset.get(from, from + 125)));
+            }
+            List<String> parallel = new ArrayList<>();
+            for (Future<List<String>> shard : shards) parallel.addAll(shard.get());
+            assertEquals(dataset.get(0, 1000), parallel);
+        } finally {
+            executor.shutdown();
+        }
+    }
+    @Test void generatingElementsDoesNotChangeValuesOfCurrentThread() {
+        Dataset<String> dataset = Dataset.of(42, ROW);
+        DatagenRandom.overrideSeed(7);
+        long first = Long(), second = Long();
+
+        DatagenRandom.overrideSeed(7);
+        assertEquals(first, Long());
+        dataset.get(5);
+        dataset.get(0, 10);
+        assertEquals(second, Long());
+        assertEquals(7, DatagenRandom.getRootSeed());
+    }
+    @Test void usesEngineOfDataset_andRestoresEngineOfThread() {
+        RandomEngine threadEngine = DatagenRandom.getCurrentEngine();
+        Dataset<RandomEngine> dataset = Dataset.of(1, RandomEngine.Standard.PCG32, index -> DatagenRandom.getCurrentEngine());
+
+        assertSame(RandomEngine.Standard.PCG32, dataset.get(0));
+        assertSame(threadEngine, DatagenRandom.getCurrentEngine());
+    }
+    @Test void throwsIfRangeIsReversed() {
+        assertThrows(IllegalArgumentException.class, () -> Dataset.of(ROW).get(10, 9));
+        assertThat(Dataset.of(ROW).get(10, 10), empty());
+    }
+}
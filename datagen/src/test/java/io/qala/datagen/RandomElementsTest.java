@@ -1,9 +1,13 @@
 package io.qala.datagen;
 
+import io.qala.datagen.adaptors.DatagenRandom;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashSet;
+import java.util.LinkedList;
 import java.util.List;
 import java.util.Set;
 
@@ -11,6 +15,7 @@ import static io.qala.datagen.RandomElements.from;
 import static io.qala.datagen.RandomShortApi.*;
 import static io.qala.datagen.RandomValue.between;
 import static io.qala.datagen.RandomValue.length;
+import static java.util.Arrays.asList;
 import static java.util.Collections.emptyList;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.*;
@@ -40,6 +45,40 @@ class RandomElementsTest {
         assertEquals(sample.size(), new HashSet<>(sample).size());
         assertEquals(sampleMultiple(5, population).size(), new HashSet<>(sample).size());
     }
+    @Test void sampleOfLargePopulation_isDistinctElementsOfPopulation() {
+        List<Integer> population = new ArrayList<>();
+        for (int i = 0; i < 1_000_000; i++) population.add(i);
+        List<Integer> sample = from(population).sample(10_000);
+
+        assertEquals(10_000, new HashSet<>(sample).size());
+        for (Integer element : sample) assertThat(element, allOf(greaterThanOrEqualTo(0), lessThan(1_000_000)));
+    }
+    @Test void eachElementIsEquallyProbableInSample_bothForSmallAndLargeSamples() {
+        Integer[] population = new Integer[40];
+        for (int i = 0; i < population.length; i++) population[i] = i;
+        for (int sampleSize : new int[]{3, 30}) {
+            int[] counts = new int[population.length];
+            int nOfSamples = 10_000;
+            for (int i = 0; i < nOfSamples; i++)
+                for (Integer element : from(population).sample(sampleSize)) counts[element]++;
+            double expected = nOfSamples * sampleSize / (double) population.length;
+            for (int count : counts) assertEquals(expected, count, expected * .25, "sample size: " + sampleSize);
+        }
+    }
+    @Test void samplesFromListWithoutCopying_unlessSnapshotIsRequested() {
+        List<String> population = new ArrayList<>(asList("a"));
+        RandomElements<String> view = from(population);
+        RandomElements<String> snapshot = from(population).snapshot();
+        population.set(0, "b");
+
+        assertEquals("b", view.sample());
+        assertEquals("a", snapshot.sample());
+    }
+    @Test void samplesFromListAndVarargsWithoutCombiningThem() {
+        List<String> population = new ArrayList<>(asList("a", "b"));
+        assertThat(from(population, "c", "d").sample(4), containsInAnyOrder("a", "b", "c", "d"));
+        assertThat(from(new LinkedList<>(population), "c").sample(3), containsInAnyOrder("a", "b", "c"));
+    }
     @Test void samplingSets_returnsSets() {
         HashSet<String> toSampleFrom = new HashSet<>();
         toSampleFrom.add("a");
@@ -108,6 +147,72 @@ class RandomElementsTest {
         assertEquals(0, shuffled(emptyList()).size());
         assertEquals(0, shuffled().size());
     }
+    @Test void shufflesPrimitiveArraysInPlace_keepingAllElements() {
+        int[] ints = new int[1000];
+        for (int i = 0; i < ints.length; i++) ints[i] = i;
+        long[] longs = new long[ints.length];
+        double[] doubles = new double[ints.length];
+        for (int i = 0; i < ints.length; i++) doubles[i] = longs[i] = ints[i];
+
+        shuffle(ints);
+        shuffle(longs);
+        shuffle(doubles);
+
+        assertFalse(isSorted(ints));
+        Arrays.sort(ints);
+        Arrays.sort(longs);
+        Arrays.sort(doubles);
+        for (int i = 0; i < ints.length; i++) {
+            assertEquals(i, ints[i]);
+            assertEquals(i, longs[i]);
+            assertEquals((double) i, doubles[i]);
+        }
+    }
+    @Test void shufflesListsAndArraysInPlace() {
+        List<String> original = length(10).alphanumerics(200);
+        List<String> list = new ArrayList<String>(original);
+        String[] array = original.toArray(new String[0]);
+
+        shuffle(list);
+        shuffle(array);
+
+        assertNotEquals(original, list);
+        assertNotEquals(original, asList(array));
+        assertThat(list, containsInAnyOrder(original.toArray()));
+        assertThat(asList(array), containsInAnyOrder(original.toArray()));
+    }
+    @Test void shuffleIsReproducible_withTheSameSeed() {
+        long seed = Long();
+        List<Integer> list = asList(1, 2, 3, 4, 5, 6, 7, 8, 9, 10);
+        int[] array = {1, 2, 3, 4, 5, 6, 7, 8, 9, 10};
+
+        DatagenRandom.overrideSeed(seed);
+        List<Integer> shuffledList = shuffled(list);
+        shuffle(array);
+        DatagenRandom.overrideSeed(seed);
+        List<Integer> shuffledAgain = shuffled(list);
+        int[] arrayAgain = {1, 2, 3, 4, 5, 6, 7, 8, 9, 10};
+        shuffle(arrayAgain);
+
+        assertEquals(shuffledList, shuffledAgain);
+        assertArrayEquals(array, arrayAgain);
+    }
+    @Test void listsAndArraysAreShuffledTheSame_withTheSameSeed() {
+        long seed = Long();
+        Integer[] array = {1, 2, 3, 4, 5, 6, 7, 8, 9, 10};
+        List<Integer> arrayList = new ArrayList<Integer>(asList(array));
+        List<Integer> linkedList = new LinkedList<Integer>(asList(array));
+
+        DatagenRandom.overrideSeed(seed);
+        shuffle(array);
+        DatagenRandom.overrideSeed(seed);
+        shuffle(arrayList);
+        DatagenRandom.overrideSeed(seed);
+        shuffle(linkedList);
+
+        assertEquals(asList(array), arrayList);
+        assertEquals(asList(array), linkedList);
+    }
 
     @Test void nullOrObj_returnsNull_sometimes() {
         for(int i = 0; i < 100; i++) if (nullOr("str") == null) return;
@@ -175,4 +280,9 @@ class RandomElementsTest {
         for(int i = 0; i < 100; i++) if ("str".equals(blankOr("str"))) return;
         fail("blankOr() had to return specified string at least once, but it didn't");
     }
-}
\ No newline at end of file
+
+    private static boolean isSorted(int[] array) {
+        for (int i = 1; i < array.length; i++) if (array[i - 1] > array[i]) return false;
+        return true;
+    }
+}
@@ -1,15 +1,29 @@
 package io.qala.datagen;
 
 
+import io.qala.datagen.adaptors.DatagenRandom;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 
 import java.lang.reflect.InvocationTargetException;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringWriter;
 import java.lang.reflect.Method;
+import java.nio.Buffer;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Date;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Random;
+import java.util.Set;
 
 import static io.qala.datagen.ContainsNonAlphanumericsMatcher.containsNonAlphanumerics;
 import static io.qala.datagen.ContainsOneOfMatcher.containsOneOf;
@@ -19,9 +33,14 @@ import static io.qala.datagen.RandomValue.*;
 import static io.qala.datagen.StringModifier.Impls.*;
 import static io.qala.datagen.StringModifier.Impls.oneOf;
 import static io.qala.datagen.Vocabulary.specialSymbols;
+import static java.nio.charset.StandardCharsets.ISO_8859_1;
+import static java.nio.charset.StandardCharsets.UTF_16;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Arrays.asList;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.*;
 import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
 
 @SuppressWarnings({"ThrowableResultOfMethodCallIgnored", "unchecked"})
 class RandomValueTest {
@@ -42,6 +61,14 @@ class RandomValueTest {
         @Test void returnsAnyInteger() {
             integer();
         }
+        @Test void returnsBothBoundaries_ofSmallRange() {
+            Set<Integer> generated = new HashSet<>();
+            for (int i = 0; i < 1000; i++) generated.add(integer(-1, 1));
+            assertEquals(new HashSet<>(asList(-1, 0, 1)), generated);
+        }
+        @Test void staysWithinBoundaries_ifRangeIsWiderThanHalfOfInteger() {
+            for (int i = 0; i < 1000; i++) assertThat(integer(-2, Integer.MAX_VALUE), greaterThanOrEqualTo(-2));
+        }
 
         @Test void throwsIfMaxBoundaryGreaterThanInteger() {
             assertThrows(NumberOutOfBoundaryException.class, () -> upTo(GREATER_THAN_MAX_INT).integer());
@@ -49,6 +76,16 @@ class RandomValueTest {
         @Test void throwsIfMinBoundaryLessThanInteger() {
             assertThrows(NumberOutOfBoundaryException.class, () -> between(LESS_THAN_INT_MIN, LESS_THAN_INT_MIN).integer());
         }
+        @Test void bulkIntegers_areSameAsGeneratedOneByOne() {
+            for (int[] range : new int[][]{{-1, 1}, {5, 5}, {-2, Integer.MAX_VALUE}, {Integer.MIN_VALUE, Integer.MAX_VALUE}}) {
+                DatagenRandom.overrideSeed(42);
+                int[] oneByOne = new int[1000];
+                for (int i = 0; i < oneByOne.length; i++) oneByOne[i] = integer(range[0], range[1]);
+                DatagenRandom.overrideSeed(42);
+                assertArrayEquals(oneByOne, ints(1000, range[0], range[1]), Arrays.toString(range));
+            }
+            assertThrows(IllegalArgumentException.class, () -> ints(10, 1, 0));
+        }
     }
 
     @Nested @DisplayName("Long Generator") class Longs {
@@ -65,6 +102,28 @@ class RandomValueTest {
             assertEquals(boundary, between(boundary, boundary).Long());
             assertEquals(boundary, Long(boundary, boundary));
         }
+        @Test void staysWithinBoundaries_ifRangeIsWiderThanInteger() {
+            long min = Long.MAX_VALUE - (1L << 40), max = Long.MAX_VALUE - 5;
+            for (int i = 0; i < 1000; i++) {
+                long generated = Long(min, max);
+                assertThat(generated, greaterThanOrEqualTo(min));
+                assertThat(generated, lessThanOrEqualTo(max));
+            }
+        }
+        @Test void staysWithinBoundaries_ifRangeIsWiderThanHalfOfLong() {
+            for (int i = 0; i < 1000; i++) assertThat(Long(-2, Long.MAX_VALUE), greaterThanOrEqualTo(-2L));
+        }
+        @Test void bulkLongs_areSameAsGeneratedOneByOne() {
+            long[][] ranges = {{-1, 1}, {5, 5}, {Long.MAX_VALUE - (1L << 40), Long.MAX_VALUE - 5},
+                               {-2, Long.MAX_VALUE}, {Long.MIN_VALUE, Long.MAX_VALUE}};
+            for (long[] range : ranges) {
+                DatagenRandom.overrideSeed(42);
+                long[] oneByOne = new long[1000];
+                for (int i = 0; i < oneByOne.length; i++) oneByOne[i] = Long(range[0], range[1]);
+                DatagenRandom.overrideSeed(42);
+                assertArrayEquals(oneByOne, longs(1000, range[0], range[1]), Arrays.toString(range));
+            }
+        }
         @Test void returnsLongs_thatAreGreaterThan0_sometimes() {
             for(int i = 0; i < 50; i++) if(Long() > 0) return;
             fail("Random Long should've returned a positive number at least once");
@@ -76,6 +135,19 @@ class RandomValueTest {
     }
 
     @Nested @DisplayName("Double Generator") class Doubles {
+        @Test void bulkDoubles_areSameAsGeneratedOneByOne() {
+            DatagenRandom.overrideSeed(42);
+            double[] oneByOne = new double[1000];
+            for (int i = 0; i < oneByOne.length; i++) oneByOne[i] = Double(-1.5, 10);
+            DatagenRandom.overrideSeed(42);
+            assertArrayEquals(oneByOne, doubles(1000, -1.5, 10));
+            assertThrows(IllegalArgumentException.class, () -> doubles(10, 1, 1));
+        }
+        @Test void bulkFloats_areWithinBoundaries() {
+            float[] floats = floats(1000, -1, 1);
+            for (float f : floats) assertThat(f, allOf(greaterThanOrEqualTo(-1f), lessThan(1f)));
+            assertThat(floats[0], not(equalTo(floats[1])));
+        }
         @Test void returnsDouble_betweenBoundaries() {
             double aDouble = Double(-100, 100);
             assertThat(aDouble, greaterThan(-100.));
@@ -145,6 +217,172 @@ class RandomValueTest {
             assertThat(length(1000).unicode(), containsNonAlphanumerics());
             assertThat(unicode(100, 1000), containsNonAlphanumerics());
         }
+        @Test void unicodeIsWellFormedAndHasAssignedCodePointsOnly() {
+            String unicode = unicode(1001);
+            assertEquals(1001, unicode.length());
+            for (int i = 0; i < unicode.length(); ) {
+                int codePoint = unicode.codePointAt(i);
+                assertNotEquals(Character.SURROGATE, Character.getType(codePoint), "Unpaired surrogate at " + i);
+                assertTrue(isInFixedTable(codePoint), Integer.toHexString(codePoint));
+                i += Character.charCount(codePoint);
+            }
+        }
+        @Test void fixedTableOfAssignedCodePoints_isUnicode13() {
+            int codePoints = 0;
+            for (int range = 0; range < AssignedCodePoints.count(); range++)
+                codePoints += AssignedCodePoints.end(range) - AssignedCodePoints.start(range) + 1;
+            assertEquals(675, AssignedCodePoints.count());
+            assertEquals(143924, codePoints);
+            for (int assigned : new int[]{0x0, 'A', 0x37F, 0x20BF, 0x1F600, 0x1FAD6, 0xE01EF})
+                assertTrue(isInFixedTable(assigned), Integer.toHexString(assigned));
+            for (int notAssigned : new int[]{0x378, 0xD800, 0xDFFF, 0xE000, 0xFFFF, 0x1FAD7, 0x10FFFF})
+                assertFalse(isInFixedTable(notAssigned), Integer.toHexString(notAssigned));
+        }
+        @Test void fixedTableOfAssignedCodePoints_isAssignedInJdk() {
+            // older JDKs (e.g. 8 knows Unicode 6.2) report the code points added later as unassigned
+            assumeTrue(Character.getType(0x1FAD6) != Character.UNASSIGNED, "JDK doesn't support Unicode 13.0");
+            for (int range = 0; range < AssignedCodePoints.count(); range++)
+                for (int cp = AssignedCodePoints.start(range); cp <= AssignedCodePoints.end(range); cp++) {
+                    int type = Character.getType(cp);
+                    if (type == Character.UNASSIGNED || type == Character.SURROGATE || type == Character.PRIVATE_USE)
+                        fail(Integer.toHexString(cp) + " has type " + type);
+                }
+        }
+        @Test void unicodeFromTable_containsOnlyCodePointsOfTheBlocks() {
+            String unicode = length(100).unicode(UnicodeTable.blocks(Character.UnicodeBlock.CYRILLIC));
+            for (char c : unicode.toCharArray()) assertEquals(Character.UnicodeBlock.CYRILLIC, Character.UnicodeBlock.of(c));
+        }
+        @Test void unicodeFromSupplementaryTable_isPairsOfSurrogates() {
+            UnicodeTable emoticons = UnicodeTable.blocks(Character.UnicodeBlock.EMOTICONS);
+            String unicode = length(10).unicode(emoticons);
+            assertEquals(5, unicode.codePointCount(0, unicode.length()));
+            assertThrows(IllegalArgumentException.class, () -> length(11).unicode(emoticons));
+        }
+        @Test void unicodeOfBytes_takesExactNumberOfBytesInEachCharset() {
+            String[] charsets = {"UTF-8", "UTF-16", "UTF-16LE", "UTF-32", "ISO-8859-1", "US-ASCII"};
+            for (String charsetName : charsets) {
+                Charset charset = Charset.forName(charsetName);
+                int bytes = charsetName.startsWith("UTF-32") ? 4 * integer(0, 100) : 2 * integer(2, 100);
+                String unicode = length(bytes).unicodeOfBytes(charset);
+                assertEquals(bytes, unicode.getBytes(charset).length, charsetName);
+                assertTrue(charset.newEncoder().canEncode(unicode), charsetName);
+                assertEquals(bytes, unicodeOfBytes(bytes, charset).getBytes(charset).length, charsetName);
+            }
+        }
+        @Test void unicodeOfBytes_isBetweenBoundaries() {
+            int min = integer(0, 100), max = min + integer(0, 100);
+            int bytes = between(min, max).unicodeOfBytes(UTF_8).getBytes(UTF_8).length;
+            assertTrue(bytes >= min && bytes <= max, "Bytes: " + bytes);
+            bytes = unicodeOfBytes(min, max, UTF_8).getBytes(UTF_8).length;
+            assertTrue(bytes >= min && bytes <= max, "Bytes: " + bytes);
+        }
+        @Test void unicodeOfBytes_fillsBytesWithLongCodePointsOfTable() {
+            UnicodeTable cyrillic = UnicodeTable.blocks(Character.UnicodeBlock.CYRILLIC);
+            assertEquals(16, length(32).unicodeOfBytes(UTF_8, cyrillic).length());
+            assertEquals(5, between(9, 11).unicodeOfBytes(UTF_8, cyrillic).length());
+            assertThrows(IllegalArgumentException.class, () -> length(31).unicodeOfBytes(UTF_8, cyrillic));
+            assertThrows(IllegalArgumentException.class, () -> length(2).unicodeOfBytes(Charset.forName("US-ASCII"), cyrillic));
+        }
+        @Test void unicodeOfBytes_throwsIfCharsetIsNotSupported() {
+            assertThrows(IllegalArgumentException.class, () -> length(10).unicodeOfBytes(Charset.forName("windows-1251")));
+        }
+        @Test void writesCharsIntoArraySlice() {
+            char[] buffer = new char[20];
+            Arrays.fill(buffer, '#');
+            assertEquals(5, length(5).write(RandomString.Type.NUMERIC, buffer, 3));
+            assertThat(new String(buffer), matchesPattern("###[0-9]{5}#{12}"));
+            assertThrows(IndexOutOfBoundsException.class, () -> length(5).write(RandomString.Type.ENGLISH, buffer, 16));
+        }
+        @Test void writesCharsIntoHeapAndDirectCharBuffers() {
+            CharBuffer[] buffers = {CharBuffer.allocate(10), ByteBuffer.allocateDirect(20).asCharBuffer()};
+            for (CharBuffer buffer : buffers) {
+                ((Buffer) buffer).position(2);
+                assertEquals(5, length(5).write(RandomString.Type.ENGLISH, buffer));
+                assertEquals(7, buffer.position());
+                ((Buffer) buffer).flip().position(2);
+                assertThat(buffer.toString(), matchesPattern("[a-zA-Z]{5}"));
+            }
+        }
+        @Test void writesNothingIntoCharBuffer_ifItDoesNotFit() {
+            CharBuffer buffer = CharBuffer.allocate(3);
+            assertThrows(BufferOverflowException.class, () -> length(4).write(RandomString.Type.UNICODE, buffer));
+            assertEquals(0, buffer.position());
+        }
+        @Test void appendsCharsOfEachType() throws IOException {
+            for (RandomString.Type type : RandomString.Type.values()) {
+                StringBuilder builder = new StringBuilder("a");
+                StringWriter writer = new StringWriter();
+                assertEquals(10, length(10).write(type, builder), type.name());
+                assertEquals(10, length(10).write(type, writer), type.name());
+                assertEquals(11, builder.length(), type.name());
+                assertEquals(10, writer.toString().length(), type.name());
+            }
+        }
+        @Test void appendsSameCharsAsWritesIntoArray_andLongValuesByChunks() throws IOException {
+            char[] expected = new char[100];
+            DatagenRandom.overrideSeed(42);
+            length(100).write(RandomString.Type.ALPHANUMERIC, expected, 0);
+            DatagenRandom.overrideSeed(42);
+            StringBuilder builder = new StringBuilder();
+            length(100).write(RandomString.Type.ALPHANUMERIC, builder);
+            assertEquals(new String(expected), builder.toString());
+
+            StringBuilder large = new StringBuilder();
+            assertEquals(20_000, new RandomValueRecorder(length(20_000), RandomString.Type.NUMERIC).generate(large));
+            assertThat(large.toString(), matchesPattern("[0-9]{20000}"));
+        }
+        @Test void writesCharsWithModifiers() {
+            char[] buffer = new char[10];
+            assertEquals(5, length(5).with(spaceLeft()).write(RandomString.Type.NUMERIC, buffer, 0));
+            assertThat(new String(buffer, 0, 5), matchesPattern(" [0-9]{4}"));
+        }
+        @Test void writesBytesOfEachTypeIntoHeapAndDirectByteBuffers() throws CharacterCodingException {
+            for (RandomString.Type type : RandomString.Type.values()) {
+                for (ByteBuffer buffer : new ByteBuffer[]{ByteBuffer.allocate(100), ByteBuffer.allocateDirect(100)}) {
+                    ((Buffer) buffer).position(1);
+                    int n = length(20).write(type, buffer, UTF_8);
+                    assertEquals(1 + n, buffer.position(), type.name());
+                    ((Buffer) buffer).flip().position(1);
+                    String decoded = UTF_8.newDecoder().decode(buffer).toString();
+                    assertEquals(20, decoded.length(), type.name());
+                    assertEquals(n, decoded.getBytes(UTF_8).length, type.name());
+                }
+            }
+        }
+        @Test void writesAsciiTypesIntoByteBufferOfExactSize_sameAsChars() {
+            for (RandomString.Type type : new RandomString.Type[]{RandomString.Type.ALPHANUMERIC, RandomString.Type.NUMERIC, RandomString.Type.ENGLISH}) {
+                char[] chars = new char[10];
+                DatagenRandom.overrideSeed(42);
+                length(10).write(type, chars, 0);
+                ByteBuffer buffer = ByteBuffer.allocate(10);
+                DatagenRandom.overrideSeed(42);
+                assertEquals(10, length(10).write(type, buffer, UTF_8), type.name());
+                assertEquals(new String(chars), new String(buffer.array(), UTF_8), type.name());
+            }
+        }
+        @Test void writesNothingIntoByteBuffer_ifItDoesNotFit() {
+            ByteBuffer buffer = ByteBuffer.allocate(9);
+            assertThrows(BufferOverflowException.class, () -> length(10).write(RandomString.Type.NUMERIC, buffer, UTF_8));
+            assertEquals(0, buffer.position());
+        }
+        @Test void writesValidUtf8IntoStream_byChunks() throws IOException {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            long n = length(20001).write(RandomString.Type.UNICODE, out, UTF_8);
+            assertEquals(out.size(), n);
+            String decoded = UTF_8.newDecoder().decode(ByteBuffer.wrap(out.toByteArray())).toString();
+            assertEquals(20001, decoded.length());
+        }
+        @Test void writesSpecialSymbolsInSingleByteCharset() throws IOException {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            assertEquals(100, length(100).write(RandomString.Type.SPECIAL_SYMBOLS, out, ISO_8859_1));
+            assertThat(new String(out.toByteArray(), ISO_8859_1), containsOnly(Vocabulary.SPECIAL_SYMBOLS.toCharArray()));
+            assertThrows(IllegalArgumentException.class, () -> length(1).write(RandomString.Type.UNICODE, out, ISO_8859_1));
+            assertThrows(IllegalArgumentException.class, () -> length(1).write(RandomString.Type.NUMERIC, out, UTF_16));
+        }
+        @Test void unicodeFromWeightedTable_skipsBlocksWithZeroWeight() {
+            UnicodeTable table = UnicodeTable.block(Character.UnicodeBlock.CYRILLIC, 0).and(Character.UnicodeBlock.BASIC_LATIN, 1);
+            for (char c : length(100).unicode(table).toCharArray()) assertEquals(Character.UnicodeBlock.BASIC_LATIN, Character.UnicodeBlock.of(c));
+        }
         @Test void createsStringWithSpecialSymbols() {
             assertThat(length(1000).specialSymbols(), containsString(","));
             assertThat(RandomShortApi.specialSymbols(1000), containsString(","));
@@ -180,6 +418,15 @@ class RandomValueTest {
         @Test void addsOneOfPassedSymbols() {
             assertThat(length(100).with(oneOf(",")).english(), containsString(","));
         }
+        @Test void doesNotInsertHalvesOfSurrogatePairs_fromEmojiVocabulary() {
+            String emojis = "\uD83D\uDE00\uD83D\uDE4F";
+            for (StringModifier modifier : asList(oneOf(emojis + ","), multipleOf(emojis + ","), occasional(emojis + ","))) {
+                String value = length(100).with(modifier).english();
+                for (char c : value.toCharArray()) assertFalse(Character.isSurrogate(c), value);
+            }
+            assertThat(length(100).with(multipleOf(emojis + ",")).english(), containsString(","));
+            assertThrows(IllegalArgumentException.class, () -> multipleOf(emojis));
+        }
         @Test void addsSpacesViaStringModifier() {
             assertThat(length(100).with(spaces()).numeric(), containsString(" "));
         }
@@ -236,8 +483,95 @@ class RandomValueTest {
             assertThat(result, everyItem(allOf(startsWith(" lah"), endsWith(" "))));
         }
 
+        @Test void compiledGenerator_appliesAllModifiers() {
+            StringGenerator generator = between(5, 15).with(prefix("blah"), spaceRight(), spaceLeft())
+                    .compile(RandomString.Type.ALPHANUMERIC);
+            for (int i = 0; i < 10; i++) assertThat(generator.generate(), matchesPattern(" lah[a-zA-Z0-9]{0,10} "));
+        }
+        @Test void compiledGenerator_isNotChangedBySubsequentModifiers() {
+            RandomValue value = length(10);
+            StringGenerator generator = value.with(prefix("a")).compile(RandomString.Type.NUMERIC);
+            value.with(prefix("b"));
+            assertThat(generator.generate(), matchesPattern("a[0-9]{9}"));
+        }
+        @Test void compiledGenerator_appliesModifiersThatChangeLength() {
+            String value = length(10).with(prefix(" "), whitespaceReplacement("_")).compile(RandomString.Type.NUMERIC).generate();
+            assertEquals("_ ", value.substring(0, 2));
+        }
+        @Test void compiledGenerator_validatesBoundariesRightAway() {
+            assertThrows(NumberOutOfBoundaryException.class, () -> between(-1, 10).compile(RandomString.Type.NUMERIC));
+            assertThrows(NumberOutOfBoundaryException.class, () -> between(1, Long.MAX_VALUE).compile(RandomString.Type.NUMERIC));
+        }
+        @Test void lazyList_generatesSameElementEveryTime_inAnyOrder() {
+            List<String> list = between(1, 20).with(prefix("a")).lazyList(RandomString.Type.ALPHANUMERIC, 10_000_000);
+            String last = list.get(9_999_999), first = list.get(0);
+
+            assertEquals(10_000_000, list.size());
+            assertEquals(first, list.get(0));
+            assertEquals(last, list.get(9_999_999));
+            assertThat(list.subList(100, 200), everyItem(matchesPattern("a[a-zA-Z0-9]{0,19}")));
+            assertNotEquals(list.subList(0, 10), list.subList(10, 20));
+            assertThrows(IndexOutOfBoundsException.class, () -> list.get(10_000_000));
+            assertThrows(UnsupportedOperationException.class, () -> list.set(0, ""));
+        }
+        @Test void lazyList_givesSameElementsWithAndWithoutCache_forTheSameSeed() {
+            StringGenerator generator = length(10).compile(RandomString.Type.NUMERIC);
+            DatagenRandom.overrideSeed(42);
+            List<String> uncached = new ArrayList<>(generator.lazyList(100));
+            DatagenRandom.overrideSeed(42);
+            List<String> cached = generator.lazyList(100, 10);
+
+            for (int i = 99; i >= 0; i--) assertEquals(uncached.get(i), cached.get(i));
+            assertEquals(uncached, cached);
+        }
+        @Test void compactList_givesSameStringsAsGeneratingOneByOne() {
+            StringGenerator generator = between(1, 30).with(prefix("a")).compile(RandomString.Type.ALPHANUMERIC);
+            DatagenRandom.overrideSeed(42);
+            List<String> expected = new ArrayList<>();
+            for (int i = 0; i < 1000; i++) expected.add(generator.generate());
+            DatagenRandom.overrideSeed(42);
+            CompactStrings compact = generator.compactList(1000);
+
+            assertEquals(expected, compact);
+            assertTrue(compact.isLatin1());
+            assertEquals(expected.get(500).length(), compact.length(500));
+            assertThrows(IndexOutOfBoundsException.class, () -> compact.get(1000));
+            assertThrows(UnsupportedOperationException.class, () -> compact.set(0, ""));
+        }
+        @Test void compactList_switchesToChars_ifStringsDoNotFitIntoLatin1() {
+            List<String> strings = asList("abc", "", "ÿ", "中文", "d");
+            CompactStrings compact = CompactStrings.copyOf(strings);
+
+            assertFalse(compact.isLatin1());
+            assertEquals(strings, compact);
+
+            StringGenerator generator = length(20).compile(RandomString.Type.UNICODE);
+            DatagenRandom.overrideSeed(42);
+            List<String> expected = asList(generator.generate(), generator.generate(), generator.generate());
+            DatagenRandom.overrideSeed(42);
+            assertEquals(expected, generator.compactList(3));
+        }
+        @Test void compactList_givesCharSequenceViews_withoutCopyingChars() {
+            CompactStrings compact = CompactStrings.copyOf(asList("hello", "world"));
+            CharSequence world = compact.charSequence(1);
+
+            assertEquals(5, world.length());
+            assertEquals('w', world.charAt(0));
+            assertEquals("orl", world.subSequence(1, 4).toString());
+            assertEquals("world", world.toString());
+            assertThrows(IndexOutOfBoundsException.class, () -> world.charAt(5));
+        }
+
         @Test void throwsIfMinBoundaryIsNegative() {
             assertThrows(NumberOutOfBoundaryException.class, () -> between(-1, 10).alphanumeric());
+            assertThrows(NumberOutOfBoundaryException.class, () -> alphanumeric(-1, 10));
+            assertThrows(NumberOutOfBoundaryException.class, () -> unicode(-1));
+        }
+        @Test void throwsIfMinBoundaryIsGreaterThanMax() {
+            assertThrows(IllegalArgumentException.class, () -> between(10, 1).alphanumeric());
+            assertThrows(IllegalArgumentException.class, () -> english(10, 1));
+            assertThrows(IllegalArgumentException.class, () -> integer(10, 1));
+            assertThrows(IllegalArgumentException.class, () -> Long(10, 1));
         }
     }
     @Nested @DisplayName("Date Generator") class Dates {
@@ -256,6 +590,23 @@ class RandomValueTest {
     }
 
     @Nested @DisplayName("Boolean Generator") class Booleans {
+        @Test void bulkBooleans_fillWholeArray_evenIfItsNotMultipleOf64() {
+            for (int i = 0; i < 20; i++) {
+                boolean[] bools = fill(new boolean[70]);
+                boolean[] tail = Arrays.copyOfRange(bools, 64, 70);
+                if (Arrays.toString(tail).contains("true") && Arrays.toString(tail).contains("false")) return;
+            }
+            fail("The last booleans of the array must've been random");
+        }
+        @Test void bulkBooleansAndBytes_areUniform() {
+            int trues = 0;
+            for (boolean b : bools(100_000)) if (b) trues++;
+            assertEquals(50_000, trues, 1_000);
+
+            int[] counts = new int[256];
+            for (byte b : bytes(256_000)) counts[b & 0xFF]++;
+            for (int count : counts) assertEquals(1000, count, 200);
+        }
         @Test void canReturnTrueAndFalse() {
             boolean[] bools = bools(500);
             assertArrayContains(bools, true);
@@ -372,6 +723,12 @@ class RandomValueTest {
         }
     }
 
+    private static boolean isInFixedTable(int codePoint) {
+        for (int range = 0; range < AssignedCodePoints.count(); range++)
+            if (AssignedCodePoints.start(range) <= codePoint && codePoint <= AssignedCodePoints.end(range)) return true;
+        return false;
+    }
+
     private static final long
             LESS_THAN_INT_MIN = ((long) Integer.MIN_VALUE) - 1,
             GREATER_THAN_MAX_INT = ((long) Integer.MAX_VALUE) + 1;
@@ -0,0 +1,80 @@
+package io.qala.datagen;
+
+import io.qala.datagen.adaptors.DatagenRandom;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+
+import static java.util.Arrays.asList;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Reservoir Sampler")
+class ReservoirSamplerTest {
+    @Test void eachElementIsEquallyProbable() {
+        List<Integer> population = range(40);
+        int[] counts = new int[population.size()];
+        int nOfSamples = 10_000, sampleSize = 5;
+        for (int i = 0; i < nOfSamples; i++)
+            for (Integer element : ReservoirSampler.sample(population, sampleSize)) counts[element]++;
+        double expected = nOfSamples * sampleSize / (double) population.size();
+        for (int count : counts) assertEquals(expected, count, expected * .25);
+    }
+    @Test void samplesDistinctElements_fromLargePopulation() {
+        List<Integer> sample = ReservoirSampler.sample(range(1_000_000), 1000);
+        assertEquals(1000, new HashSet<>(sample).size());
+    }
+    @Test void returnsWholePopulation_ifItsSmallerThanSample() {
+        assertThat(ReservoirSampler.sample(asList("a", "b"), 3), containsInAnyOrder("a", "b"));
+        assertThat(ReservoirSampler.sample(asList("a", "b"), 0), empty());
+        assertThrows(IllegalArgumentException.class, () -> ReservoirSampler.sample(asList("a", "b"), -1));
+    }
+    @Test void emptySample_doesNotReadPopulation() {
+        Iterator<Integer> endless = new Iterator<Integer>() {
+            @Override public boolean hasNext() { return true; }
+            @Override public Integer next() { throw new AssertionError("Population mustn't be read"); }
+        };
+        assertThat(ReservoirSampler.sample(endless, 0), empty());
+    }
+    @Test void sameSeedGivesSameSample() {
+        DatagenRandom.overrideSeed(42);
+        List<Integer> first = ReservoirSampler.sample(range(10_000), 10);
+        DatagenRandom.overrideSeed(42);
+        assertEquals(first, ReservoirSampler.sample(range(10_000), 10));
+    }
+    @Test void samplesLinesOfText() throws IOException {
+        List<String> sample = ReservoirSampler.sampleLines(new StringReader("a\nb\nc\nd\n"), 2);
+        assertThat(sample, hasSize(2));
+        assertThat(asList("a", "b", "c", "d"), hasItems(sample.toArray(new String[0])));
+    }
+
+    @Test void weightedSample_prefersHeavyElements_andSkipsZeroWeights() {
+        List<Integer> population = range(100);
+        for (int i = 0; i < 100; i++) {
+            List<Integer> sample = ReservoirSampler.sampleWeighted(population.iterator(), 2,
+                    (Integer element) -> element == 7 ? 1e9 : element % 2 == 0 ? 0 : 1);
+            assertThat(sample, hasItem(7));
+            for (Integer element : sample) assertEquals(1, element % 2);
+        }
+    }
+    @Test void weightedSample_returnsAllWithPositiveWeights_ifThereAreFewer() {
+        List<String> sample = ReservoirSampler.sampleWeighted(asList("a", "b", "c").iterator(), 5,
+                (String element) -> element.equals("b") ? 0 : 1);
+        assertThat(sample, containsInAnyOrder("a", "c"));
+        assertThrows(IllegalArgumentException.class,
+                () -> ReservoirSampler.sampleWeighted(asList("a").iterator(), 1, (String element) -> -1));
+    }
+
+    private static List<Integer> range(int n) {
+        List<Integer> result = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) result.add(i);
+        return result;
+    }
+}
@@ -0,0 +1,60 @@
+package io.qala.datagen;
+
+import io.qala.datagen.adaptors.DatagenRandom;
+import io.qala.datagen.adaptors.RandomEngine;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+import static io.qala.datagen.RandomShortApi.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Seed Context")
+class SeedContextTest {
+    @Test void childValuesDoNotDependOnValuesGeneratedBefore() throws Exception {
+        DatagenRandom.overrideSeed(42);
+        String username = SeedContext.root().child("username").call(() -> alphanumeric(10));
+
+        DatagenRandom.overrideSeed(42);
+        integer();
+        alphanumeric(5);
+        assertEquals(username, SeedContext.root().child("username").call(() -> alphanumeric(10)));
+    }
+    @Test void childrenWithDifferentNamesOrIndices_haveDifferentSeeds() {
+        SeedContext root = SeedContext.of(42);
+        assertNotEquals(root.child("a").seed(), root.child("b").seed());
+        assertNotEquals(root.child(0).seed(), root.child(1).seed());
+        assertEquals(root.child("a").child(3).seed(), SeedContext.of(42).child("a").child(3).seed());
+    }
+    @Test void tasksGenerateSameValues_regardlessOfThreadsRunningThem() throws Exception {
+        SeedContext parent = SeedContext.of(Long(), RandomEngine.Standard.SPLITMIX64);
+        assertEquals(runInParallel(parent, 1), runInParallel(parent, 4));
+    }
+    @Test void contextDoesNotChangeValuesOfCurrentThread() {
+        DatagenRandom.overrideSeed(7);
+        long first = Long(), second = Long();
+
+        DatagenRandom.overrideSeed(7);
+        assertEquals(first, Long());
+        SeedContext.of(1, RandomEngine.Standard.PCG32).run(RandomShortApi::Long);
+        assertEquals(second, Long());
+        assertEquals(7, DatagenRandom.getRootSeed());
+    }
+
+    private static List<String> runInParallel(SeedContext parent, int nOfThreads) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(nOfThreads);
+        try {
+            List<Future<String>> futures = new ArrayList<>();
+            for (int i = 0; i < 20; i++)
+                futures.add(executor.submit(parent.child(i).wrap(() -> alphanumeric(5) + integer())));
+            List<String> result = new ArrayList<>();
+            for (Future<String> future : futures) result.add(future.get());
+            return result;
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package io.qala.datagen;
+
+import io.qala.datagen.adaptors.DatagenRandom;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import static io.qala.datagen.RandomShortApi.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Unique Values")
+class UniqueValuesTest {
+    @Test void permutationMapsIndicesToDistinctValues_ofTheSameRange() {
+        for (long size : new long[]{1, 2, 3, 5, 16, 17, 1000, 4097}) {
+            RandomPermutation permutation = RandomPermutation.of(size);
+            Set<Long> values = new HashSet<>();
+            for (long i = 0; i < size; i++) {
+                long value = permutation.get(i);
+                assertThat(value, allOf(greaterThanOrEqualTo(0L), lessThan(size)));
+                values.add(value);
+            }
+            assertEquals(size, values.size());
+        }
+    }
+    @Test void permutationThrows_ifIndexIsOutOfRange() {
+        assertThrows(IndexOutOfBoundsException.class, () -> RandomPermutation.of(10).get(10));
+        assertThrows(IndexOutOfBoundsException.class, () -> RandomPermutation.of(10).get(-1));
+        assertThrows(IllegalArgumentException.class, () -> RandomPermutation.of(0));
+    }
+    @Test void permutationShufflesValues() {
+        RandomPermutation permutation = RandomPermutation.of(1000);
+        int nOfFixedPoints = 0;
+        for (long i = 0; i < 1000; i++) if (permutation.get(i) == i) nOfFixedPoints++;
+        assertThat(nOfFixedPoints, lessThan(10));
+    }
+
+    @Test void returnsEachIntegerOfRangeOnce_thenStops() {
+        UniqueValues<Integer> integers = uniqueIntegers(-5, 94);
+        Set<Integer> returned = new HashSet<>();
+        while (integers.hasNext()) returned.add(integers.next());
+
+        assertEquals(100, returned.size());
+        assertThat(returned, everyItem(allOf(greaterThanOrEqualTo(-5), lessThanOrEqualTo(94))));
+        assertThrows(NoSuchElementException.class, integers::next);
+    }
+    @Test void returnsUniqueLongs_evenFromRangeOfAllLongs() {
+        UniqueValues<Long> longs = uniqueLongs(Long.MIN_VALUE, Long.MAX_VALUE);
+        Set<Long> returned = new HashSet<>();
+        for (int i = 0; i < 100_000; i++) returned.add(longs.next());
+
+        assertEquals(100_000, returned.size());
+        assertTrue(longs.hasNext());
+        assertThat(returned, hasItem(lessThan(0L)));
+    }
+    @Test void returnsTheOnlyValue_ifMinEqualsMax() {
+        UniqueValues<Long> longs = uniqueLongs(7, 7);
+        assertEquals(Long.valueOf(7), longs.next());
+        assertFalse(longs.hasNext());
+        assertThrows(IllegalArgumentException.class, () -> uniqueLongs(1, 0));
+    }
+    @Test void returnsUniqueAlphanumericsOfTheSameLength() {
+        for (int length : new int[]{3, 10, 15}) {
+            UniqueValues<String> strings = uniqueAlphanumerics(length);
+            Set<String> returned = new HashSet<>();
+            for (int i = 0; i < 10_000; i++) returned.add(strings.next());
+
+            assertEquals(10_000, returned.size());
+            assertThat(returned, everyItem(matchesPattern("[0-9A-Za-z]{" + length + "}")));
+        }
+    }
+    @Test void returnsAllAlphanumerics_ifTheyAreShort() {
+        UniqueValues<String> strings = uniqueAlphanumerics(1);
+        Set<String> returned = new HashSet<>();
+        while (strings.hasNext()) returned.add(strings.next());
+        assertEquals(62, returned.size());
+    }
+    @Test void sameSeedGivesSameValues() {
+        DatagenRandom.overrideSeed(42);
+        List<Integer> first = take(uniqueIntegers(0, 1_000_000), 10);
+        DatagenRandom.overrideSeed(42);
+        assertEquals(first, take(uniqueIntegers(0, 1_000_000), 10));
+    }
+
+    private static <T> List<T> take(UniqueValues<T> values, int n) {
+        List<T> result = new ArrayList<>();
+        for (int i = 0; i < n; i++) result.add(values.next());
+        return result;
+    }
+}
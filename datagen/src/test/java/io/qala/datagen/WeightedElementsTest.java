@@ -0,0 +1,47 @@
+package io.qala.datagen;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static io.qala.datagen.RandomShortApi.weighedSample;
+import static java.util.Arrays.asList;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Weighted Elements")
+class WeightedElementsTest {
+    @Test void samplesElementsProportionallyToWeights() {
+        WeightedElements<String> elements = WeightedElements.from(asList("a", "b", "c", "d"), 70, 20, 10, 0);
+        int nOfSamples = 100_000;
+        Map<String, Integer> counts = new LinkedHashMap<>();
+        for (String element : elements.sampleWithReplacement(new String[nOfSamples])) counts.merge(element, 1, Integer::sum);
+
+        assertEquals(.7, counts.get("a") / (double) nOfSamples, .01);
+        assertEquals(.2, counts.get("b") / (double) nOfSamples, .01);
+        assertEquals(.1, counts.get("c") / (double) nOfSamples, .01);
+        assertNull(counts.get("d"), "Elements with zero weight must never be sampled");
+    }
+    @Test void samplesTheOnlyElementWithPositiveWeight() {
+        List<String> sample = WeightedElements.from(asList("a", "b"), 0, 1).sampleWithReplacement(100);
+        assertThat(sample, everyItem(equalTo("b")));
+    }
+    @Test void samplesFromMapOfWeights() {
+        Map<String, Integer> weights = new LinkedHashMap<>();
+        weights.put("a", 1);
+        weights.put("b", 3);
+        assertThat(weighedSample(weights), isOneOf("a", "b"));
+        assertThat(WeightedElements.from(weights).sampleWithReplacement(10), hasSize(10));
+    }
+    @Test void throwsIfWeightsAreInvalid() {
+        assertThrows(IllegalArgumentException.class, () -> WeightedElements.from(asList("a", "b"), 1));
+        assertThrows(IllegalArgumentException.class, () -> WeightedElements.from(asList("a", "b"), 1, -1));
+        assertThrows(IllegalArgumentException.class, () -> WeightedElements.from(asList("a", "b"), 1, Double.NaN));
+        assertThrows(IllegalArgumentException.class, () -> WeightedElements.from(asList("a", "b"), 0, 0));
+        assertThrows(IllegalArgumentException.class, () -> WeightedElements.from(asList()));
+    }
+}
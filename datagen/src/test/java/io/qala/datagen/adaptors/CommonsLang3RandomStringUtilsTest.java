@@ -21,6 +21,7 @@ import org.junit.jupiter.api.Test;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Modifier;
 import java.nio.charset.Charset;
+import java.util.Arrays;
 import java.util.Random;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -308,6 +309,23 @@ public class CommonsLang3RandomStringUtilsTest {
         assertTrue(chiSquare(expected,counts) < 13.82, "test homogeneity -- will fail about 1 in 1000 times");
     }
     
+    /**
+     * Same as {@link #testCommonsLang3RandomStringUtilsHomog()} but for the vocabulary whose size isn't a power of 2,
+     * these are generated by slicing 64-bit draws, so the out-of-range slices must not skew the distribution.
+     */
+    @Test
+    public void testHomogeneityOfBitSlicedVocabulary() {
+        final char[] chars = "abcde".toCharArray();
+        final int[] counts = {0,0,0,0,0};
+        final int[] expected = {2000,2000,2000,2000,2000};
+        final String gen = CommonsLang3RandomStringUtils.random(10000, chars);
+        for (int i = 0; i < gen.length(); i++) {
+            counts[gen.charAt(i) - 'a']++;
+        }
+        // Perform chi-square test with df = 5-1 = 4, testing at .001 level
+        assertTrue(chiSquare(expected,counts) < 18.47, "test homogeneity -- will fail about 1 in 1000 times");
+    }
+
     /**
      * Computes Chi-Square statistic given observed and expected counts
      * @param observed array of observed frequency counts
@@ -323,6 +341,22 @@ public class CommonsLang3RandomStringUtilsTest {
         return sumSq;
     }           
 
+    @Test
+    public void testFillsBufferSliceOnly() {
+        final char[] buffer = new char[20];
+        Arrays.fill(buffer, '#');
+        CommonsLang3RandomStringUtils.randomNumeric(buffer, 3, 10);
+        final String s = new String(buffer);
+        assertEquals("###", s.substring(0, 3));
+        assertTrue(s.substring(3, 13).matches("[0-9]{10}"), s);
+        assertEquals("#######", s.substring(13));
+
+        CommonsLang3RandomStringUtils.random(buffer, 0, 20, 'a', 'b');
+        assertTrue(new String(buffer).matches("[ab]{20}"), new String(buffer));
+        assertThrows(IndexOutOfBoundsException.class, () -> CommonsLang3RandomStringUtils.randomAlphabetic(buffer, 11, 10));
+        assertThrows(IllegalArgumentException.class, () -> CommonsLang3RandomStringUtils.random(buffer, 0, 1));
+    }
+
     /**
      * Checks if the string got by {@link CommonsLang3RandomStringUtils#random(int)}
      * can be converted to UTF-8 and back without loss.
@@ -0,0 +1,184 @@
+package io.qala.datagen.adaptors;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Datagen Random")
+class DatagenRandomTest {
+    private final DatagenRandom random = new DatagenRandom();
+
+    @AfterEach void switchBackToDefaultEngine() {
+        DatagenRandom.overrideSeed(System.nanoTime(), DatagenRandom.getDefaultEngine());
+    }
+
+    @Test void sameSeedGivesSameSequence() {
+        DatagenRandom.overrideSeed(42);
+        long[] first = {random.nextLong(), random.nextInt(), random.nextInt(10), Double.doubleToLongBits(random.nextGaussian())};
+        DatagenRandom.overrideSeed(42);
+        long[] second = {random.nextLong(), random.nextInt(), random.nextInt(10), Double.doubleToLongBits(random.nextGaussian())};
+        assertArrayEquals(first, second);
+    }
+
+    @Test void producesSameSequenceAsJdkRandom() {
+        long seed = 100500;
+        Random jdk = new Random(seed);
+        DatagenRandom.overrideSeed(seed ^ 0x5DEECE66DL);// Random scrambles the seed it gets in constructor
+        for (int i = 0; i < 100; i++) assertEquals(jdk.nextLong(), random.nextLong());
+    }
+
+    @Test void currentSeedReproducesTheRestOfSequence() {
+        random.nextLong();
+        long checkpoint = DatagenRandom.getCurrentSeed();
+        long expected = random.nextLong();
+        DatagenRandom.overrideSeed(checkpoint);
+        assertEquals(expected, random.nextLong());
+    }
+
+    @Test void otherThreadsDoNotChangeSeedOfCurrentThread() throws InterruptedException {
+        DatagenRandom.overrideSeed(42);
+        long expected = random.nextLong();
+        DatagenRandom.overrideSeed(42);
+
+        final AtomicLong otherThreadValue = new AtomicLong();
+        Thread other = new Thread(() -> {
+            DatagenRandom.overrideSeed(42);
+            otherThreadValue.set(random.nextLong());
+            random.nextLong();
+        });
+        other.start();
+        other.join();
+
+        assertEquals(expected, otherThreadValue.get());
+        assertEquals(expected, random.nextLong());
+    }
+
+    @Test void eachEngineGivesSameSequenceForSameSeed() {
+        for (RandomEngine engine : RandomEngine.Standard.values()) {
+            DatagenRandom.overrideSeed(42, engine);
+            long[] first = {random.nextLong(), random.nextInt(), random.nextInt(10), Double.doubleToLongBits(random.nextDouble())};
+            DatagenRandom.overrideSeed(42, engine);
+            long[] second = {random.nextLong(), random.nextInt(), random.nextInt(10), Double.doubleToLongBits(random.nextDouble())};
+            assertArrayEquals(first, second, engine.name());
+            assertSame(engine, DatagenRandom.getCurrentEngine());
+        }
+    }
+
+    @Test void eachEngine_currentSeedReproducesTheRestOfSequence() {
+        for (RandomEngine engine : RandomEngine.Standard.values()) {
+            DatagenRandom.overrideSeed(System.nanoTime(), engine);
+            random.nextLong();
+            long checkpoint = DatagenRandom.getCurrentSeed();
+            long expected = random.nextLong();
+            DatagenRandom.overrideSeed(checkpoint, engine);
+            assertEquals(expected, random.nextLong(), engine.name());
+        }
+    }
+    @Test void eachEngine_currentSeedIsTheOverriddenOne_ifNothingWasGeneratedAfterIt() {
+        for (RandomEngine engine : RandomEngine.Standard.values()) {
+            // recording: the seed is taken in the middle of the run and the run continues from it
+            DatagenRandom.overrideSeed(System.nanoTime(), engine);
+            random.nextLong();
+            long recorded = DatagenRandom.getCurrentSeed();
+            assertEquals(recorded, DatagenRandom.getCurrentSeed(), engine.name());
+            DatagenRandom.overrideSeed(recorded, engine);
+            long expected = random.nextLong();
+
+            // replaying: the recorded seed is set explicitly and is asked for again
+            DatagenRandom.overrideSeed(recorded, engine);
+            assertEquals(recorded, DatagenRandom.getCurrentSeed(), engine.name());
+            DatagenRandom.overrideSeed(DatagenRandom.getCurrentSeed(), engine);
+            assertEquals(expected, random.nextLong(), engine.name());
+        }
+    }
+
+    @Test void splitMixProducesSameSequenceAsSplittableRandom() {
+        SplittableRandom jdk = new SplittableRandom(100500);
+        DatagenRandom.overrideSeed(100500, RandomEngine.Standard.SPLITMIX64);
+        for (int i = 0; i < 100; i++) assertEquals(jdk.nextLong(), random.nextLong());
+    }
+
+    @Test void jumpSkipsSameValuesAsSequentialGeneration() {
+        for (RandomEngine engine : new RandomEngine[]{RandomEngine.Standard.LCG48, RandomEngine.Standard.SPLITMIX64}) {
+            DatagenRandom.overrideSeed(42, engine);
+            for (int i = 0; i < 1000; i++) random.nextLong();
+            long expected = random.nextLong();
+
+            DatagenRandom.overrideSeed(42, engine);
+            DatagenRandom.jump(engine == RandomEngine.Standard.LCG48 ? 2000 : 1000);
+            assertEquals(expected, random.nextLong(), engine.name());
+        }
+    }
+    @Test void lcgJumpsBackward_withNegativeSteps() {
+        DatagenRandom.overrideSeed(42);
+        long first = random.nextLong();
+        DatagenRandom.jump(-2);
+        assertEquals(first, random.nextLong());
+
+        DatagenRandom.jump(1L << 48);// whole period
+        DatagenRandom.jump(-2);
+        assertEquals(first, random.nextLong());
+    }
+    @Test void splitPartsContinueEachOther_likeSequentialGeneration() {
+        DatagenRandom.overrideSeed(42);
+        int[] sequential = new int[30];
+        for (int i = 0; i < sequential.length; i++) sequential[i] = random.nextInt(100);
+
+        DatagenRandom.overrideSeed(42);
+        long[] seeds = DatagenRandom.split(3, 10);
+        int[] parts = new int[30];
+        for (int part = 2; part >= 0; part--) {
+            DatagenRandom.overrideSeed(seeds[part]);
+            for (int i = 0; i < 10; i++) parts[part * 10 + i] = random.nextInt(100);
+        }
+        assertArrayEquals(sequential, parts);
+    }
+    @Test void splitThrows_ifEngineCantJump() {
+        DatagenRandom.overrideSeed(42, RandomEngine.Standard.XOSHIRO256_STAR_STAR);
+        assertThrows(UnsupportedOperationException.class, () -> DatagenRandom.split(2, 10));
+        assertThrows(UnsupportedOperationException.class, () -> DatagenRandom.jump(10));
+    }
+
+    @Test void threadsStartedSimultaneously_getDifferentSeeds() throws InterruptedException {
+        final Set<Long> seeds = Collections.synchronizedSet(new HashSet<>());
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < 200; i++) threads.add(new Thread(() -> seeds.add(DatagenRandom.getRootSeed())));
+        for (Thread thread : threads) thread.start();
+        for (Thread thread : threads) thread.join();
+        assertEquals(200, seeds.size());
+    }
+    @Test void scopeInNewThread_generatesSeededValues_andLeavesThreadAsItWas() throws InterruptedException {
+        DatagenRandom.overrideSeed(42);
+        final long expected = random.nextLong();
+        final AtomicLong inScope = new AtomicLong();
+        final AtomicBoolean stateAfterScope = new AtomicBoolean(true);
+        Thread other = new Thread(() -> {
+            DatagenRandom.Scope scope = DatagenRandom.enter(42, DatagenRandom.getDefaultEngine());
+            inScope.set(random.nextLong());
+            scope.close();
+            stateAfterScope.set(DatagenRandom.hasState());
+        });
+        other.start();
+        other.join();
+
+        assertEquals(expected, inScope.get());
+        assertFalse(stateAfterScope.get());
+    }
+
+    @Test void enginesAreFoundByName_caseInsensitive() {
+        assertSame(RandomEngine.Standard.XOSHIRO256_STAR_STAR, RandomEngines.forName("xoshiro256_star_star"));
+        assertThrows(IllegalArgumentException.class, () -> RandomEngines.forName("blah"));
+    }
+}
@@ -2,7 +2,12 @@ package io.qala.datagen.examples;
 
 import org.junit.Test;
 
+import java.nio.charset.Charset;
+
 import static io.qala.datagen.RandomShortApi.unicode;
+import static io.qala.datagen.RandomValue.length;
+import static io.qala.datagen.UnicodeTable.blocks;
+import static java.lang.Character.UnicodeBlock.CYRILLIC;
 
 public class _05_MaxBoundaryValidationTest {
     private Db db = new Db();
@@ -15,4 +20,8 @@ public class _05_MaxBoundaryValidationTest {
     public void usernameValidation_failsForMaxBoundary_ifRandomized() {//will fail once in a million cases
         db.save(new Person(unicode(20)));
     }
+
+    @Test public void usernameValidation_passesForMaxBoundary_ifBytesAreCountedWhileGenerating() {
+        db.save(new Person(length(32).unicodeOfBytes(Charset.forName("UTF-8"), blocks(CYRILLIC))));
+    }
 }
@@ -1,8 +1,15 @@
 package io.qala.datagen;
 
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.*;
 import java.util.List;
+import java.util.function.ToDoubleFunction;
+import java.util.stream.*;
 
 @SuppressWarnings({"WeakerAccess", "SameParameterValue"})
 public class Java8RandomShortApi {
@@ -17,6 +24,10 @@ public class Java8RandomShortApi {
     public static List<Instant> instants(int n) {
         return new RandomDate().instants(n);
     }
+    /** @see RandomDate#instantStream(long) */
+    public static Stream<Instant> instantStream(long n) {
+        return new RandomDate().instantStream(n);
+    }
 
     public static LocalDateTime localDateTime() {
         return new RandomDate().localDateTime();
@@ -48,4 +59,84 @@ public class Java8RandomShortApi {
     public static List<LocalDate> localDates(int nOfTimes) {
         return new RandomDate().localDates(nOfTimes);
     }
+
+    /**
+     * Samples from a stream in a single pass keeping only the sample in memory.
+     *
+     * @see ReservoirSampler#sample(java.util.Iterator, int)
+     */
+    public static <T> List<T> sample(Stream<T> population, int nToReturn) {
+        return ReservoirSampler.sample(population.iterator(), nToReturn);
+    }
+
+    /**
+     * Samples from a stream in a single pass, the elements with larger weights are sampled more often.
+     *
+     * @see ReservoirSampler#sampleWeighted(java.util.Iterator, int, ReservoirSampler.Weigher)
+     */
+    public static <T> List<T> sampleWeighted(Stream<T> population, int nToReturn, ToDoubleFunction<? super T> weigher) {
+        return ReservoirSampler.sampleWeighted(population.iterator(), nToReturn, weigher::applyAsDouble);
+    }
+
+    /**
+     * Samples lines of a UTF-8 file without loading it into memory, so it works for files of any size.
+     *
+     * @see ReservoirSampler#sampleLines(java.io.Reader, int)
+     */
+    public static List<String> sampleLines(Path file, int nToReturn) throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            return ReservoirSampler.sampleLines(reader, nToReturn);
+        }
+    }
+
+    /**
+     * Shuffles huge arrays in place using all the cores of the common {@link java.util.concurrent.ForkJoinPool}. The
+     * seed is taken from Datagen, so for the same seed the order is the same regardless of the number of threads.
+     * Arrays smaller than a block are shuffled in the current thread.
+     *
+     * @see Shuffler#shuffle(int[]) for the sequential shuffle
+     */
+    public static void parallelShuffle(int[] toShuffle) {
+        MergeShuffle.shuffle(MergeShuffle.of(toShuffle), toShuffle.length, RandomShortApi.Long());
+    }
+    /** @see #parallelShuffle(int[]) */
+    public static void parallelShuffle(long[] toShuffle) {
+        MergeShuffle.shuffle(MergeShuffle.of(toShuffle), toShuffle.length, RandomShortApi.Long());
+    }
+    /** @see #parallelShuffle(int[]) */
+    public static void parallelShuffle(double[] toShuffle) {
+        MergeShuffle.shuffle(MergeShuffle.of(toShuffle), toShuffle.length, RandomShortApi.Long());
+    }
+    /** @see #parallelShuffle(int[]) */
+    public static void parallelShuffle(Object[] toShuffle) {
+        MergeShuffle.shuffle(MergeShuffle.of(toShuffle), toShuffle.length, RandomShortApi.Long());
+    }
+
+    /**
+     * Lazily generates the same values as {@link RandomShortApi#ints(int, int, int)} would generate in chunks of
+     * 1024 elements, each chunk is seeded separately. The stream can be {@code parallel()}: chunks are never split
+     * between threads, so for the same seed the values are the same regardless of the number of threads.
+     *
+     * @param n   size of the stream
+     * @param min inclusive
+     * @param max inclusive
+     */
+    public static IntStream intStream(long n, int min, int max) {
+        RandomValue.throwIfMaxLessThanMin(min, max);
+        return StreamSupport.intStream(new SeededSpliterator.Ints(RandomDate.streamSeeds(), 0, n, min, max), false);
+    }
+    /** @see #intStream(long, int, int) */
+    public static LongStream longStream(long n, long min, long max) {
+        RandomValue.throwIfMaxLessThanMin(min, max);
+        return StreamSupport.longStream(new SeededSpliterator.Longs(RandomDate.streamSeeds(), 0, n, min, max), false);
+    }
+    /**
+     * @param min inclusive
+     * @param max exclusive
+     * @see #intStream(long, int, int)
+     */
+    public static DoubleStream doubleStream(long n, double min, double max) {
+        if (!(min < max)) throw new IllegalArgumentException("Min [" + min + "] must be less than max [" + max + "]");
+        return StreamSupport.doubleStream(new SeededSpliterator.Doubles(RandomDate.streamSeeds(), 0, n, min, max), false);
+    }
 }
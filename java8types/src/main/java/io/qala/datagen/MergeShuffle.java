@@ -0,0 +1,97 @@
+package io.qala.datagen;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Parallel in-place shuffle (MergeShuffle by Bacher, Bodini, Hollender, Lumbroso): the array is split in halves until
+ * the blocks are small enough to be Fisher-Yates shuffled, then the shuffled halves are merged by randomly taking the
+ * next element from either of them. The halves are independent, so they are shuffled by different threads.
+ * <p>Each task gets its own random generator seeded by its parent, the seeds depend only on the position of the task
+ * in the recursion - not on which thread or in which order executes it. So for the same seed the result is the same
+ * regardless of the number of threads.</p>
+ */
+class MergeShuffle extends RecursiveAction {
+    /** Blocks that fit into L2 cache are shuffled faster sequentially than split further. */
+    static final int BLOCK_SIZE = 1 << 16;
+    private final Swapper array;
+    private final int from, to, blockSize;
+    private final long seed;
+
+    private MergeShuffle(Swapper array, int from, int to, int blockSize, long seed) {
+        this.array = array;
+        this.from = from;
+        this.to = to;
+        this.blockSize = blockSize;
+        this.seed = seed;
+    }
+
+    static void shuffle(Swapper array, int length, long seed) {
+        shuffle(array, length, BLOCK_SIZE, seed, ForkJoinPool.commonPool());
+    }
+    static void shuffle(Swapper array, int length, int blockSize, long seed, ForkJoinPool pool) {
+        pool.invoke(new MergeShuffle(array, 0, length, blockSize, seed));
+    }
+
+    @Override protected void compute() {
+        SplittableRandom random = new SplittableRandom(seed);
+        if (to - from <= blockSize) {
+            for (int i = to - 1; i > from; i--) array.swap(i, from + random.nextInt(i - from + 1));
+            return;
+        }
+        int middle = (from + to) >>> 1;
+        invokeAll(new MergeShuffle(array, from, middle, blockSize, random.nextLong()),
+                  new MergeShuffle(array, middle, to, blockSize, random.nextLong()));
+        merge(middle, random);
+    }
+
+    /**
+     * Takes elements from either half with equal probability until one of them runs out, then inserts what's left
+     * at random positions (like Fisher-Yates does) to account for the halves not being exactly of equal size.
+     */
+    private void merge(int middle, SplittableRandom random) {
+        int i = from, j = middle;
+        while (true) {
+            if (random.nextBoolean()) {
+                if (j == to) break;
+                array.swap(i, j++);
+            } else if (i == j) break;
+            i++;
+        }
+        for (; i < to; i++) array.swap(i, from + random.nextInt(i - from + 1));
+    }
+
+    /** Lets the same algorithm shuffle arrays of any type without boxing. */
+    interface Swapper {
+        void swap(int i, int j);
+    }
+    static Swapper of(int[] array) {
+        return (i, j) -> {
+            int swap = array[i];
+            array[i] = array[j];
+            array[j] = swap;
+        };
+    }
+    static Swapper of(long[] array) {
+        return (i, j) -> {
+            long swap = array[i];
+            array[i] = array[j];
+            array[j] = swap;
+        };
+    }
+    static Swapper of(double[] array) {
+        return (i, j) -> {
+            double swap = array[i];
+            array[i] = array[j];
+            array[j] = swap;
+        };
+    }
+    static Swapper of(Object[] array) {
+        return (i, j) -> {
+            Object swap = array[i];
+            array[i] = array[j];
+            array[j] = swap;
+        };
+    }
+}
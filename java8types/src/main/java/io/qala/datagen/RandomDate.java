@@ -5,6 +5,8 @@ import java.time.chrono.ChronoLocalDateTime;
 import java.time.chrono.ChronoZonedDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import static io.qala.datagen.RandomShortApi.sample;
 import static java.time.temporal.ChronoUnit.HOURS;
@@ -122,6 +124,13 @@ public class RandomDate {
     public List<Instant> instants(int n) {
         return multiply(n, this::instant);
     }
+    /**
+     * Unlike {@link #instants(int)} the instants are generated lazily, and the stream can be parallel - the values
+     * are the same for the same seed regardless of the number of threads.
+     */
+    public Stream<Instant> instantStream(long n) {
+        return StreamSupport.stream(new SeededSpliterator.Objects<>(streamSeeds(), 0, n, this::instant), false);
+    }
 
     public LocalDateTime localDateTime() {
         return LocalDateTime.ofInstant(instant(), ZoneId.systemDefault());
@@ -198,6 +207,10 @@ public class RandomDate {
         return LocalDateTime.now();
     }
 
+    /** Each stream gets its own seed from the current sequence, so it's reproducible with the seed of the test. */
+    static SeedContext streamSeeds() {
+        return SeedContext.of(RandomShortApi.Long());
+    }
     private static ZoneOffset systemOffset() {
         return ZoneId.systemDefault().getRules().getOffset(Instant.now());
     }
@@ -0,0 +1,171 @@
+package io.qala.datagen;
+
+import java.util.Spliterator;
+import java.util.function.*;
+
+/**
+ * Generates elements in chunks of {@link #CHUNK_SIZE}, each chunk is generated within its own child of the
+ * {@link SeedContext}. The spliterators are split only at the chunk boundaries, so no matter how the stream is split
+ * between the threads, each chunk gets the same values - parallel streams are as reproducible as sequential ones.
+ * Also a stream of N elements is a prefix of a stream of N + M elements if they have the same seed.
+ */
+abstract class SeededSpliterator<A, S extends SeededSpliterator<A, S>> {
+    static final int CHUNK_SIZE = 1024;
+    private static final int CHARACTERISTICS = Spliterator.ORDERED | Spliterator.SIZED | Spliterator.SUBSIZED
+            | Spliterator.IMMUTABLE | Spliterator.NONNULL;
+    private final SeedContext seeds;
+    /** Index of the next element that isn't in the chunk yet, always at the start of a chunk. */
+    private long index;
+    private final long end;
+    A chunk;
+    int position, chunkLength;
+
+    SeededSpliterator(SeedContext seeds, long from, long end) {
+        if (end < from) throw new IllegalArgumentException("Size of the stream cannot be negative: " + (end - from));
+        this.seeds = seeds;
+        this.index = from;
+        this.end = end;
+    }
+
+    /** Generates {@code length} elements into the chunk (creating a new one if needed), seeded per chunk. */
+    abstract A fill(A chunk, int length);
+    abstract S create(SeedContext seeds, long from, long end);
+
+    boolean nextChunkIfNeeded() {
+        if (position < chunkLength) return true;
+        if (index >= end) return false;
+        final int length = (int) Math.min(CHUNK_SIZE, end - index);
+        seeds.child(index / CHUNK_SIZE).run(() -> chunk = fill(chunk, length));
+        index += length;
+        position = 0;
+        chunkLength = length;
+        return true;
+    }
+
+    public S trySplit() {
+        if (position < chunkLength) return null;// the generated elements would end up after the prefix
+        long nOfChunks = (end - index + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        if (nOfChunks < 2) return null;
+        long middle = index + nOfChunks / 2 * CHUNK_SIZE;
+        S prefix = create(seeds, index, middle);
+        index = middle;
+        return prefix;
+    }
+    public long estimateSize() {
+        return end - index + chunkLength - position;
+    }
+    public int characteristics() {
+        return CHARACTERISTICS;
+    }
+
+    static final class Ints extends SeededSpliterator<int[], Ints> implements Spliterator.OfInt {
+        private final int min, max;
+
+        Ints(SeedContext seeds, long from, long end, int min, int max) {
+            super(seeds, from, end);
+            this.min = min;
+            this.max = max;
+        }
+        @Override int[] fill(int[] chunk, int length) {
+            return RandomShortApi.fill(chunk != null && chunk.length == length ? chunk : new int[length], min, max);
+        }
+        @Override Ints create(SeedContext seeds, long from, long end) {
+            return new Ints(seeds, from, end, min, max);
+        }
+        @Override public boolean tryAdvance(IntConsumer action) {
+            if (!nextChunkIfNeeded()) return false;
+            action.accept(chunk[position++]);
+            return true;
+        }
+        @Override public void forEachRemaining(IntConsumer action) {
+            while (nextChunkIfNeeded()) {
+                for (int i = position; i < chunkLength; i++) action.accept(chunk[i]);
+                position = chunkLength;
+            }
+        }
+    }
+
+    static final class Longs extends SeededSpliterator<long[], Longs> implements Spliterator.OfLong {
+        private final long min, max;
+
+        Longs(SeedContext seeds, long from, long end, long min, long max) {
+            super(seeds, from, end);
+            this.min = min;
+            this.max = max;
+        }
+        @Override long[] fill(long[] chunk, int length) {
+            return RandomShortApi.fill(chunk != null && chunk.length == length ? chunk : new long[length], min, max);
+        }
+        @Override Longs create(SeedContext seeds, long from, long end) {
+            return new Longs(seeds, from, end, min, max);
+        }
+        @Override public boolean tryAdvance(LongConsumer action) {
+            if (!nextChunkIfNeeded()) return false;
+            action.accept(chunk[position++]);
+            return true;
+        }
+        @Override public void forEachRemaining(LongConsumer action) {
+            while (nextChunkIfNeeded()) {
+                for (int i = position; i < chunkLength; i++) action.accept(chunk[i]);
+                position = chunkLength;
+            }
+        }
+    }
+
+    static final class Doubles extends SeededSpliterator<double[], Doubles> implements Spliterator.OfDouble {
+        private final double min, max;
+
+        Doubles(SeedContext seeds, long from, long end, double min, double max) {
+            super(seeds, from, end);
+            this.min = min;
+            this.max = max;
+        }
+        @Override double[] fill(double[] chunk, int length) {
+            return RandomShortApi.fill(chunk != null && chunk.length == length ? chunk : new double[length], min, max);
+        }
+        @Override Doubles create(SeedContext seeds, long from, long end) {
+            return new Doubles(seeds, from, end, min, max);
+        }
+        @Override public boolean tryAdvance(DoubleConsumer action) {
+            if (!nextChunkIfNeeded()) return false;
+            action.accept(chunk[position++]);
+            return true;
+        }
+        @Override public void forEachRemaining(DoubleConsumer action) {
+            while (nextChunkIfNeeded()) {
+                for (int i = position; i < chunkLength; i++) action.accept(chunk[i]);
+                position = chunkLength;
+            }
+        }
+    }
+
+    static final class Objects<T> extends SeededSpliterator<Object[], Objects<T>> implements Spliterator<T> {
+        private final Supplier<T> generator;
+
+        Objects(SeedContext seeds, long from, long end, Supplier<T> generator) {
+            super(seeds, from, end);
+            this.generator = generator;
+        }
+        @Override Object[] fill(Object[] chunk, int length) {
+            Object[] result = chunk != null && chunk.length == length ? chunk : new Object[length];
+            for (int i = 0; i < length; i++) result[i] = generator.get();
+            return result;
+        }
+        @Override Objects<T> create(SeedContext seeds, long from, long end) {
+            return new Objects<>(seeds, from, end, generator);
+        }
+        @SuppressWarnings("unchecked")
+        @Override public boolean tryAdvance(Consumer<? super T> action) {
+            if (!nextChunkIfNeeded()) return false;
+            action.accept((T) chunk[position++]);
+            return true;
+        }
+        @SuppressWarnings("unchecked")
+        @Override public void forEachRemaining(Consumer<? super T> action) {
+            while (nextChunkIfNeeded()) {
+                for (int i = position; i < chunkLength; i++) action.accept((T) chunk[i]);
+                position = chunkLength;
+            }
+        }
+    }
+}
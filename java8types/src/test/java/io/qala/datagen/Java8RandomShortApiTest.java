@@ -1,14 +1,27 @@
 package io.qala.datagen;
 
+import io.qala.datagen.adaptors.DatagenRandom;
 import org.junit.jupiter.api.Test;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.*;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 import static io.qala.datagen.Java8RandomShortApi.*;
 import static io.qala.datagen.RandomDate.*;
 import static io.qala.datagen.RandomValue.upTo;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.*;
+import static java.util.stream.Collectors.toList;
+import static java.util.stream.Collectors.toSet;
 
 @SuppressWarnings("ThrowableResultOfMethodCallIgnored")
 class Java8RandomShortApiTest {
@@ -96,4 +109,94 @@ class Java8RandomShortApiTest {
     private LocalDate toLocalDate(Instant instant) {
         return toLocal(instant).toLocalDate();
     }
-}
\ No newline at end of file
+
+    @Test void samplesFromStream() {
+        List<Integer> sample = sample(IntStream.range(0, 100_000).boxed(), 10);
+        assertThat(sample, hasSize(10));
+        assertThat(new HashSet<>(sample), hasSize(10));
+        assertThat(sampleWeighted(Stream.of("a", "b", "c"), 2, s -> s.equals("a") ? 0 : 1), containsInAnyOrder("b", "c"));
+    }
+    @Test void samplesLinesOfFile() throws IOException {
+        Path file = Files.createTempFile("datagen", ".txt");
+        try {
+            Files.write(file, Arrays.asList("a", "b", "c"));
+            assertThat(sampleLines(file, 2), everyItem(isOneOf("a", "b", "c")));
+            assertThat(sampleLines(file, 5), containsInAnyOrder("a", "b", "c"));
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test void parallelShuffle_keepsAllElements() {
+        int[] ints = IntStream.range(0, MergeShuffle.BLOCK_SIZE * 3 + 7).toArray();
+        long[] longs = Arrays.stream(ints).asLongStream().toArray();
+        Integer[] objects = Arrays.stream(ints).boxed().toArray(Integer[]::new);
+
+        parallelShuffle(ints);
+        parallelShuffle(longs);
+        parallelShuffle(objects);
+
+        assertThat(ints, not(equalTo(IntStream.range(0, ints.length).toArray())));
+        Arrays.sort(ints);
+        Arrays.sort(longs);
+        Arrays.sort(objects);
+        assertThat(ints, equalTo(IntStream.range(0, ints.length).toArray()));
+        assertThat(longs, equalTo(IntStream.range(0, ints.length).asLongStream().toArray()));
+        assertThat(objects, equalTo(IntStream.range(0, ints.length).boxed().toArray()));
+    }
+    @Test void parallelShuffle_givesSameResultForSameSeed_regardlessOfNumberOfThreads() {
+        long seed = RandomShortApi.Long();
+        int[] singleThread = IntStream.range(0, 10_000).toArray();
+        int[] multipleThreads = singleThread.clone();
+
+        ForkJoinPool single = new ForkJoinPool(1), multiple = new ForkJoinPool(4);
+        try {
+            MergeShuffle.shuffle(MergeShuffle.of(singleThread), singleThread.length, 100, seed, single);
+            MergeShuffle.shuffle(MergeShuffle.of(multipleThreads), multipleThreads.length, 100, seed, multiple);
+        } finally {
+            single.shutdown();
+            multiple.shutdown();
+        }
+
+        assertThat(singleThread, equalTo(multipleThreads));
+    }
+    @Test void parallelShuffle_putsElementToAnyPositionWithEqualProbability() {
+        int n = 7, iterations = 70_000;
+        int[][] positionCounts = new int[n][n];
+        for (int iteration = 0; iteration < iterations; iteration++) {
+            int[] array = IntStream.range(0, n).toArray();
+            MergeShuffle.shuffle(MergeShuffle.of(array), n, 2, RandomShortApi.Long(), ForkJoinPool.commonPool());
+            for (int position = 0; position < n; position++) positionCounts[array[position]][position]++;
+        }
+        for (int[] counts : positionCounts)
+            for (int count : counts) assertThat(count, allOf(greaterThan(9_000), lessThan(11_000)));
+    }
+
+    @Test void primitiveStreams_generateValuesWithinBoundaries() {
+        assertThat(intStream(10_000, -5, 5).boxed().collect(toSet()), equalTo(IntStream.rangeClosed(-5, 5).boxed().collect(toSet())));
+        assertThat(longStream(10_000, 1, 3).boxed().collect(toSet()), containsInAnyOrder(1L, 2L, 3L));
+        assertTrue(doubleStream(10_000, -1, 1).allMatch(d -> d >= -1 && d < 1));
+        assertEquals(3_000, intStream(3_000, 0, 10).count());
+        assertThrows(IllegalArgumentException.class, () -> intStream(-1, 0, 10));
+        assertThrows(IllegalArgumentException.class, () -> longStream(10, 1, 0));
+    }
+    @Test void parallelStreams_giveSameValuesAsSequential_forTheSameSeed() {
+        long seed = RandomShortApi.Long();
+        DatagenRandom.overrideSeed(seed);
+        int[] sequential = intStream(100_000, 0, 1_000_000).toArray();
+        long[] sequentialLongs = longStream(10_000, Long.MIN_VALUE, Long.MAX_VALUE).toArray();
+        List<Instant> sequentialInstants = instantStream(5_000).collect(toList());
+
+        DatagenRandom.overrideSeed(seed);
+        assertArrayEquals(sequential, intStream(100_000, 0, 1_000_000).parallel().toArray());
+        assertArrayEquals(sequentialLongs, longStream(10_000, Long.MIN_VALUE, Long.MAX_VALUE).parallel().toArray());
+        assertEquals(sequentialInstants, instantStream(5_000).parallel().collect(toList()));
+    }
+    @Test void shorterStreamIsPrefixOfLonger_withTheSameSeed() {
+        DatagenRandom.overrideSeed(42);
+        double[] shorter = doubleStream(1_500, 0, 1).toArray();
+        DatagenRandom.overrideSeed(42);
+        double[] longer = doubleStream(5_000, 0, 1).limit(1_500).toArray();
+        assertArrayEquals(shorter, longer);
+    }
+}
@@ -1,6 +1,8 @@
 package io.qala.datagen.junit.jupiter;
 
 import io.qala.datagen.adaptors.DatagenRandom;
+import io.qala.datagen.adaptors.RandomEngine;
+import io.qala.datagen.adaptors.RandomEngines;
 import io.qala.datagen.Seed;
 import org.junit.jupiter.api.extension.ExtensionContext;
 import org.junit.jupiter.api.extension.ExtensionContext.Namespace;
@@ -26,20 +28,31 @@ public class DatagenUtils {
 
         Optional<Method> testMethod = context.getTestMethod();
         Optional<Class<?>> testClass = context.getTestClass();
+        Seed annotation = null;
         if(testMethod.isPresent()) {
-            Seed annotation = testMethod.get().getAnnotation(Seed.class);
-            if (annotation != null) DatagenRandom.overrideSeed(annotation.value());
+            annotation = testMethod.get().getAnnotation(Seed.class);
         } else if(testClass.isPresent()) {
-            Seed annotation = testClass.get().getAnnotation(Seed.class);
-            if (annotation != null) DatagenRandom.overrideSeed(annotation.value());
+            annotation = testClass.get().getAnnotation(Seed.class);
         }
-        putSeedToStoreIfAbsent(context, DatagenRandom.getCurrentSeed());
+        RandomEngine engine;
+        long seed;
+        if(annotation != null) {
+            // logging exactly the annotated seed - it's what the replay is going to start from
+            seed = annotation.value();
+            engine = annotation.engine().isEmpty() ? DatagenRandom.getCurrentEngine() : RandomEngines.forName(annotation.engine());
+        } else {
+            seed = DatagenRandom.getCurrentSeed();
+            engine = DatagenRandom.getCurrentEngine();
+        }
+        // continues the same sequence, but makes the logged seed the root of the SeedContext-s derived in the test
+        DatagenRandom.overrideSeed(seed, engine);
+        putSeedToStoreIfAbsent(context, seed, engine);
     }
 
     public static void logCurrentSeeds(ExtensionContext context) {
-        LinkedHashMap<String, Long> seedStrings = new LinkedHashMap<>();
+        LinkedHashMap<String, String> seedStrings = new LinkedHashMap<>();
         while(context != null) {
-            Long seed = getCurrentLevelSeedFromStore(context);
+            String seed = getCurrentLevelSeedStringFromStore(context);
             Optional<Method> testMethod = context.getTestMethod();
             Optional<Class<?>> testClass = context.getTestClass();
             if(testMethod.isPresent()) seedStrings.putIfAbsent(testMethod.get().getName(), seed);
@@ -48,15 +61,29 @@ public class DatagenUtils {
             context = context.getParent().isPresent() ? context.getParent().get() : null;
         }
         StringBuilder logLine = new StringBuilder();
-        for(Map.Entry<String, Long> seed: seedStrings.entrySet()) {
+        for(Map.Entry<String, String> seed: seedStrings.entrySet()) {
             logLine.append(" ").append(seed.getKey()).append("[").append(seed.getValue()).append("]");
         }
         if(logLine.length() != 0) LOG.info("Random Seeds: {}", logLine);
     }
 
-    private static void putSeedToStoreIfAbsent(ExtensionContext context, Long seed) {
+    private static void putSeedToStoreIfAbsent(ExtensionContext context, Long seed, RandomEngine engine) {
+        Store store = getStore(context);
+        if(store != null) {
+            store.put("seed", seed);
+            store.put("engine", engine.name());
+        }
+    }
+    /**
+     * The seed is logged together with the engine unless it's the default {@link RandomEngine.Standard#LCG48} so that
+     * it's clear what to put into {@link Seed#engine()} to reproduce the test.
+     */
+    private static String getCurrentLevelSeedStringFromStore(ExtensionContext context) {
+        Long seed = getCurrentLevelSeedFromStore(context);
         Store store = getStore(context);
-        if(store != null) store.put("seed", seed);
+        Object engine = store != null ? store.get("engine") : null;
+        if (seed == null || engine == null || RandomEngine.Standard.LCG48.name().equals(engine)) return String.valueOf(seed);
+        return seed + ", " + engine;
     }
     private static Long getCurrentLevelSeedFromStore(ExtensionContext context) {
         Store store = getStore(context);
@@ -1,6 +1,9 @@
 package io.qala.datagen.junit5;
 
 import io.qala.datagen.Seed;
+import io.qala.datagen.SeedContext;
+import io.qala.datagen.adaptors.DatagenRandom;
+import io.qala.datagen.adaptors.RandomEngine;
 import io.qala.datagen.junit.jupiter.*;
 import io.qala.datagen.junit.jupiter.seed.DatagenSeedExtension;
 import org.junit.jupiter.api.DisplayName;
@@ -446,13 +449,44 @@ class Junit5ParameterizedTest {
 
     @Test @Seed(123)
     void explicitSeed_generatesSameDataEveryTime() {
-        assertEquals("56847945", numeric(integer(1, 10)));
-        assertEquals("0o2V9KpUJc6", alphanumeric(integer(1, 20)));
-        assertEquals("lfBi", english(1, 10));
-        assertEquals(1876573356364443993L, Long());
-        assertEquals(-8.9316016195567002E18, Double());
-        assertEquals(false, bool());
-        assertEquals("\uF26B喕", unicode(integer(1, 5)));
+        assertEquals("6", numeric(integer(1, 10)));
+        assertEquals("kkhdM", alphanumeric(integer(1, 20)));
+        assertEquals("qOdBJHmdiS", english(1, 10));
+        assertEquals(6333817464682555313L, Long());
+        assertEquals(5.2893827649615913E18, Double());
+        assertEquals(true, bool());
+        assertEquals("\u87CE\u2A74\u7923\u5DF4", unicode(integer(1, 5)));
+    }
+
+    @Test @Seed(value = 123, engine = "XOSHIRO256_STAR_STAR")
+    void explicitSeedOfEngineWithLargeState_isReplayedAsIs() {
+        try {
+            long first = Long();
+            DatagenRandom.overrideSeed(123, RandomEngine.Standard.XOSHIRO256_STAR_STAR);
+            assertEquals(first, Long());
+        } finally {// @Seed without engine keeps the current one, the other tests expect the default
+            DatagenRandom.overrideSeed(Long(), DatagenRandom.getDefaultEngine());
+        }
+    }
+
+    @Test @Seed(123)
+    void explicitSeed_isRootOfSeedContexts_regardlessOfGeneratedValues() throws Exception {
+        String expected = SeedContext.of(123).child("username").call(() -> alphanumeric(10));
+        integer();
+        assertEquals(123, SeedContext.root().seed());
+        assertEquals(expected, SeedContext.root().child("username").call(() -> alphanumeric(10)));
+    }
+    @Test @Seed(value = 123, engine = "PCG32")
+    void explicitSeedOfEngineWithLargeState_isRootOfSeedContexts() throws Exception {
+        try {
+            String expected = SeedContext.of(123, RandomEngine.Standard.PCG32).child("username").call(() -> alphanumeric(10));
+            integer();
+            assertEquals(123, SeedContext.root().seed());
+            assertSame(RandomEngine.Standard.PCG32, SeedContext.root().engine());
+            assertEquals(expected, SeedContext.root().child("username").call(() -> alphanumeric(10)));
+        } finally {
+            DatagenRandom.overrideSeed(Long(), DatagenRandom.getDefaultEngine());
+        }
     }
 
 